@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { Users, Plus, Edit, Trash2, Eye, Search, Filter } from 'lucide-react';
 import apiService from '../services/apiService';
 
@@ -7,32 +7,39 @@ export default function UserManagement() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const latestRequest = useRef(0);
 
+  // Search runs on the server (username/email prefix); debounce keystrokes
   useEffect(() => {
-    fetchUsers();
-  }, []);
+    const timer = setTimeout(() => fetchUsers(), 250);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
 
-  const fetchUsers = async () => {
+  const fetchUsers = async (cursor = null) => {
+    // Only the newest request may update the list; a slow earlier search must not overwrite it
+    const request = ++latestRequest.current;
+    const isLatest = () => request === latestRequest.current;
     try {
-      setLoading(true);
-      const result = await apiService.getAllUsers();
+      // Full-screen spinner only for the first load, so the search box keeps focus
+      setLoading(cursor === null && users.length === 0);
+      const result = await apiService.getUserDirectory({ q: searchTerm.trim(), cursor });
+      if (!isLatest()) return;
       if (result.success) {
-        setUsers(result.users || []);
+        setUsers(prev => cursor ? [...prev, ...(result.users || [])] : (result.users || []));
+        setNextCursor(result.nextCursor);
         setError('');
       } else {
         setError(result.message || 'Failed to fetch users');
       }
     } catch (err) {
-      setError('Error connecting to backend: ' + err.message);
+      if (isLatest()) setError('Error connecting to backend: ' + err.message);
     } finally {
-      setLoading(false);
+      if (isLatest()) setLoading(false);
     }
   };
 
-  const filteredUsers = users.filter(user =>
-    user.username?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-    user.email?.toLowerCase().includes(searchTerm.toLowerCase())
-  );
+  const primaryRole = (user) => user.roles?.includes('ADMIN') ? 'ADMIN' : (user.roles?.[0] || 'CUSTOMER');
 
   if (loading) {
     return (
@@ -52,7 +59,7 @@ export default function UserManagement() {
         </div>
         <p className="text-red-700 text-sm mb-3">{error}</p>
         <button
-          onClick={fetchUsers}
+          onClick={() => fetchUsers()}
           className="px-4 py-2 bg-red-600 text-white rounded-lg hover:bg-red-700 text-sm"
         >
           Retry
@@ -89,7 +96,7 @@ export default function UserManagement() {
             Filter
           </button>
           <button
-            onClick={fetchUsers}
+            onClick={() => fetchUsers()}
             className="flex items-center gap-2 px-4 py-2 transition border border-gray-300 rounded-lg hover:bg-gray-50"
           >
             <Users size={16} />
@@ -103,8 +110,8 @@ export default function UserManagement() {
         <div className="p-6 bg-white border shadow-sm rounded-xl">
           <div className="flex items-center justify-between">
             <div>
-              <p className="text-sm font-medium text-gray-600">Total Users</p>
-              <p className="mt-1 text-2xl font-bold text-gray-900">{users.length}</p>
+              <p className="text-sm font-medium text-gray-600">Users Loaded</p>
+              <p className="mt-1 text-2xl font-bold text-gray-900">{users.length}{nextCursor ? '+' : ''}</p>
             </div>
             <div className="p-3 bg-blue-100 rounded-lg">
               <Users className="w-6 h-6 text-blue-600" />
@@ -114,9 +121,9 @@ export default function UserManagement() {
         <div className="p-6 bg-white border shadow-sm rounded-xl">
           <div className="flex items-center justify-between">
             <div>
-              <p className="text-sm font-medium text-gray-600">Admin Users</p>
+              <p className="text-sm font-medium text-gray-600">Admins Loaded</p>
               <p className="mt-1 text-2xl font-bold text-gray-900">
-                {users.filter(user => user.role === 'ADMIN').length}
+                {users.filter(user => primaryRole(user) === 'ADMIN').length}{nextCursor ? '+' : ''}
               </p>
             </div>
             <div className="p-3 bg-purple-100 rounded-lg">
@@ -127,9 +134,9 @@ export default function UserManagement() {
         <div className="p-6 bg-white border shadow-sm rounded-xl">
           <div className="flex items-center justify-between">
             <div>
-              <p className="text-sm font-medium text-gray-600">Customer Users</p>
+              <p className="text-sm font-medium text-gray-600">Customers Loaded</p>
               <p className="mt-1 text-2xl font-bold text-gray-900">
-                {users.filter(user => user.role === 'CUSTOMER').length}
+                {users.filter(user => primaryRole(user) === 'CUSTOMER').length}{nextCursor ? '+' : ''}
               </p>
             </div>
             <div className="p-3 bg-green-100 rounded-lg">
@@ -152,14 +159,14 @@ export default function UserManagement() {
               </tr>
             </thead>
             <tbody className="bg-white divide-y divide-gray-200">
-              {filteredUsers.length === 0 ? (
+              {users.length === 0 ? (
                 <tr>
                   <td colSpan="4" className="px-6 py-8 text-center text-gray-500">
                     {searchTerm ? 'No users found matching your search.' : 'No users found.'}
                   </td>
                 </tr>
               ) : (
-                filteredUsers.map((user) => (
+                users.map((user) => (
                   <tr key={user.id} className="hover:bg-gray-50">
                     <td className="px-6 py-4 whitespace-nowrap">
                       <div className="flex items-center gap-3">
@@ -174,11 +181,11 @@ export default function UserManagement() {
                     </td>
                     <td className="px-6 py-4 whitespace-nowrap">
                       <span className={`px-2 py-1 text-xs font-medium rounded-full ${
-                        user.role === 'ADMIN' 
+                        primaryRole(user) === 'ADMIN' 
                           ? 'bg-purple-100 text-purple-800' 
                           : 'bg-blue-100 text-blue-800'
                       }`}>
-                        {user.role || 'CUSTOMER'}
+                        {primaryRole(user)}
                       </span>
                     </td>
                     <td className="px-6 py-4 text-sm text-gray-500 whitespace-nowrap">
@@ -203,6 +210,16 @@ export default function UserManagement() {
             </tbody>
           </table>
         </div>
+        {nextCursor && (
+          <div className="p-4 text-center border-t">
+            <button
+              onClick={() => fetchUsers(nextCursor)}
+              className="px-4 py-2 text-sm transition border border-gray-300 rounded-lg hover:bg-gray-50"
+            >
+              Load more
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -22,6 +22,7 @@ export const API_CONFIG = {
   ENDPOINTS: {
     HEALTH: '/auth/session', // Use session check as health check
     REGISTER: '/auth/register',
+    AVAILABILITY: '/auth/availability',
     LOGIN: '/auth/login',
     LOGOUT: '/auth/logout',
     SESSION: '/auth/session',
@@ -108,7 +108,7 @@ export default function AdminPanel() {
         const trainerPhotos = JSON.parse(localStorage.getItem('trainerPhotos') || '{}');
         const trainersWithPhotos = result.trainers.map(trainer => ({
           ...trainer,
-          photo: trainerPhotos[trainer.id] || trainer.photo
+          photo: trainerPhotos[trainer.id] || trainer.photoUrl
         }));
         setTrainers(trainersWithPhotos);
       } else {
@@ -851,7 +851,7 @@ export default function AdminPanel() {
                               email: trainer.email,
                               phone: trainer.phone,
                               description: trainer.description || '',
-                              photo: trainerPhotos[trainer.id] || trainer.photo || null
+                              photo: trainerPhotos[trainer.id] || trainer.photoUrl || null
                             });
                             setShowTrainerForm(true);
                             clearMessages();
@@ -20,7 +20,7 @@ export default function Trainers() {
         const trainerPhotos = JSON.parse(localStorage.getItem('trainerPhotos') || '{}');
         const trainersWithPhotos = result.trainers.map(trainer => ({
           ...trainer,
-          photo: trainerPhotos[trainer.id] || trainer.photo
+          photo: trainerPhotos[trainer.id] || trainer.photoUrl
         }));
         setTrainers(trainersWithPhotos);
       } else {
@@ -143,6 +143,15 @@ class ApiService {
         ? userData.fullName.replace(/\s+/g, '').toLowerCase()
         : userData.email.split('@')[0];
 
+      // Cheap pre-check so a taken name doesn't cost a full registration round trip
+      const availability = await this.checkAvailability({ username, email: userData.email });
+      if (availability.username === false || availability.email === false) {
+        return {
+          success: false,
+          message: availability.username === false ? 'Username already exists' : 'Email already exists'
+        };
+      }
+
       const response = await this.api.post(config.ENDPOINTS.REGISTER, {
         username: username,
         email: userData.email,
@@ -176,6 +185,19 @@ class ApiService {
     }
   }
 
+  // Username/email availability; fields missing from the result are unknown
+  async checkAvailability({ username, email } = {}) {
+    try {
+      const params = {};
+      if (username) params.username = username;
+      if (email) params.email = email;
+      const response = await this.api.get(config.ENDPOINTS.AVAILABILITY, { params });
+      return response.data;
+    } catch (error) {
+      return {};
+    }
+  }
+
   // User Login
   async loginUser(credentials) {
     try {
@@ -290,6 +312,26 @@ class ApiService {
     }
   }
 
+  // Paged user directory (for admin); pass the previous page's nextCursor to continue
+  async getUserDirectory({ q = '', cursor = null, size = 50 } = {}) {
+    try {
+      const params = { size };
+      if (q) params.q = q;
+      if (cursor) params.cursor = cursor;
+      const response = await this.api.get(`${config.ENDPOINTS.USERS}/directory`, { params });
+      return {
+        success: true,
+        users: response.data.items,
+        nextCursor: response.data.nextCursor
+      };
+    } catch (error) {
+      return {
+        success: false,
+        message: error.message
+      };
+    }
+  }
+
   // ===== TRAINER MANAGEMENT =====
   
   // Get all trainers
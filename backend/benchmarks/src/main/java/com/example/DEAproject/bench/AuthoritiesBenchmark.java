@@ -0,0 +1,53 @@
+package com.example.DEAproject.bench;
+
+import com.example.DEAproject.model.Role;
+import com.example.DEAproject.model.User;
+import com.example.DEAproject.security.CustomUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomUserDetails.getAuthorities, called on every authorization check, and
+ * building the details object, done once per login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthoritiesBenchmark {
+
+    private static final List<String> ROLE_NAMES = List.of("USER", "TRAINER", "CUSTOMER", "ADMIN");
+
+    @Param({"1", "2", "4"})
+    public int roles;
+
+    private User user;
+    private CustomUserDetails details;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setUsername("member");
+        user.setPassword(Fixtures.PASSWORD);
+        for (int i = 0; i < roles; i++) {
+            user.getRoles().add(new Role((long) i + 1, ROLE_NAMES.get(i)));
+        }
+        details = new CustomUserDetails(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return details.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> newDetailsAndAuthorities() {
+        return new CustomUserDetails(user).getAuthorities();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.DEAproject.bench;
+
+import com.example.DEAproject.DeAprojectApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the real application against a private in-memory H2 database (MySQL
+ * mode) so service benchmarks run the same beans, transactions and Hibernate
+ * settings as production, minus the network hop to MySQL. Absolute numbers are
+ * for comparing builds with each other, not for sizing a MySQL deployment.
+ */
+final class BackendContext {
+
+    private BackendContext() {}
+
+    static ConfigurableApplicationContext start(String... overrides) {
+        String photos;
+        try {
+            photos = Files.createTempDirectory("bench-photos").toString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        // Command-line arguments, so they win over the packaged application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--ids.align-sequences=false",
+                "--photos.dir=" + photos));
+        args.addAll(List.of(overrides));
+        return SpringApplication.run(DeAprojectApplication.class, args.toArray(String[]::new));
+    }
+}
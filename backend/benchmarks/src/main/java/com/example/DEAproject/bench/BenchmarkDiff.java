@@ -0,0 +1,81 @@
+package com.example.DEAproject.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, matching benchmarks by name and params.
+ * A result is a regression when it is worse by more than the threshold and the
+ * gap is larger than both error bars together. Exit status 1 if any regressed.
+ */
+final class BenchmarkDiff {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+    private static final String PACKAGE = BenchmarkDiff.class.getPackageName() + ".";
+
+    private record Score(String mode, double score, double error, String unit) {}
+
+    private BenchmarkDiff() {}
+
+    static int run(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: compare <baseline.json> <candidate.json> [threshold%]");
+            return 2;
+        }
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> candidate = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Candidate", "Change", "Unit");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(candidate).entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s  (new)%n", entry.getKey(), "-", now.score(), "-", now.unit());
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            // Time modes: higher is worse. Throughput: lower is worse.
+            double worse = now.mode().equals("thrpt") ? -change : change;
+            boolean outsideError = Math.abs(now.score() - before.score()) > now.error() + before.error();
+            boolean regressed = worse > threshold && outsideError;
+            if (regressed) regressions++;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.score(), now.score(),
+                    change, now.unit(), regressed ? "  REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!candidate.containsKey(name)) System.out.printf("%-70s (missing from candidate)%n", name);
+        }
+        System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+        return regressions > 0 ? 1 : 0;
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace(PACKAGE, ""));
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> p = it.next();
+                    sorted.put(p.getKey(), p.getValue().asText());
+                }
+                key.append(sorted);
+            }
+            JsonNode metric = result.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(result.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
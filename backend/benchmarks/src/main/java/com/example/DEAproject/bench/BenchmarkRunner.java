@@ -0,0 +1,32 @@
+package com.example.DEAproject.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ *   java -jar benchmarks.jar [jmh options]          run, results in jmh-result.json
+ *   java -jar benchmarks.jar compare old.json new.json [threshold%]
+ *
+ * Runs default to JSON results so two releases can be compared.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("compare")) {
+            System.exit(BenchmarkDiff.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        List<String> jmhArgs = new ArrayList<>(List.of(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.addAll(List.of("-rf", "json"));
+        }
+        if (!jmhArgs.contains("-rff")) {
+            jmhArgs.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.DEAproject.bench;
+
+import com.example.DEAproject.model.Role;
+import com.example.DEAproject.model.User;
+import com.example.DEAproject.repository.RoleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Test data written straight through JPA, so setup time is not spent hashing passwords
+final class Fixtures {
+
+    static final String PASSWORD = "password";
+    static final String PASSWORD_HASH = new BCryptPasswordEncoder().encode(PASSWORD);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private Fixtures() {}
+
+    static List<Long> insertUsers(ApplicationContext context, int count) {
+        return insertUsers(context, count, 50, PASSWORD_HASH);
+    }
+
+    // All rows in one transaction; jdbcBatchSize overrides hibernate.jdbc.batch_size for it
+    static List<Long> insertUsers(ApplicationContext context, int count, int jdbcBatchSize, String passwordHash) {
+        EntityManager em = entityManager(context);
+        Long roleId = context.getBean(RoleRepository.class).findByName("USER").orElseThrow().getId();
+        return transaction(context).execute(status -> {
+            em.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            Role role = em.getReference(Role.class, roleId);
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long n = SEQUENCE.incrementAndGet();
+                User user = new User();
+                user.setUsername("bench" + n);
+                user.setEmail("bench" + n + "@example.com");
+                user.setPassword(passwordHash);
+                user.getRoles().add(role);
+                em.persist(user);
+                users.add(user);
+            }
+            em.flush();
+            em.clear();
+            return users.stream().map(User::getId).toList();
+        });
+    }
+
+    static EntityManager entityManager(ApplicationContext context) {
+        return SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+    }
+
+    static TransactionTemplate transaction(ApplicationContext context) {
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.DEAproject.bench;
+
+import com.example.DEAproject.model.MembershipPlan;
+import com.example.DEAproject.model.Subscription;
+import com.example.DEAproject.model.User;
+import com.example.DEAproject.repository.MembershipPlanRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of inserting 500 users (with their user_roles rows) and 500
+ * subscriptions in one transaction, with JDBC batching off (1) and at the
+ * configured hibernate.jdbc.batch_size (50). Guards the pooled-sequence ids
+ * and insert ordering that make batching possible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate tx;
+    private List<Long> userIds;
+    private Long membershipId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BackendContext.start();
+        entityManager = Fixtures.entityManager(context);
+        tx = Fixtures.transaction(context);
+        userIds = Fixtures.insertUsers(context, ROWS);
+
+        MembershipPlan membership = new MembershipPlan();
+        membership.setName("Bench Quarterly");
+        membership.setPrice(120.0);
+        membership.setDurationMonths(3);
+        membershipId = context.getBean(MembershipPlanRepository.class).save(membership).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> insertUsers() {
+        return Fixtures.insertUsers(context, ROWS, jdbcBatchSize, Fixtures.PASSWORD_HASH);
+    }
+
+    @Benchmark
+    public int insertSubscriptions() {
+        return tx.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            MembershipPlan membership = entityManager.getReference(MembershipPlan.class, membershipId);
+            LocalDate start = LocalDate.now();
+            for (Long userId : userIds) {
+                Subscription subscription = new Subscription();
+                subscription.setUser(entityManager.getReference(User.class, userId));
+                subscription.setMembershipPlan(membership);
+                subscription.setStartDate(start);
+                subscription.setEndDate(start.plusMonths(3));
+                entityManager.persist(subscription);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return userIds.size();
+        });
+    }
+}
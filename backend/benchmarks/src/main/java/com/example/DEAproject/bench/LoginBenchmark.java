@@ -0,0 +1,60 @@
+package com.example.DEAproject.bench;
+
+import com.example.DEAproject.model.User;
+import com.example.DEAproject.repository.UserRepository;
+import com.example.DEAproject.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login cost per BCrypt work factor. bcryptMatches is the bare verification;
+ * loginUser adds the user lookup and the hop onto the bounded hashing pool.
+ * The stored hash carries its own cost, so the app's encoder verifies any of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    @Param({"4", "10", "12"})
+    public int cost;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+    private String username;
+
+    @Setup(Level.Trial)
+    public void start() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode(Fixtures.PASSWORD);
+
+        context = BackendContext.start();
+        userService = context.getBean(UserService.class);
+        Long id = Fixtures.insertUsers(context, 1, 1, hash).get(0);
+        username = context.getBean(UserRepository.class).findById(id).orElseThrow().getUsername();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return encoder.matches(Fixtures.PASSWORD, hash);
+    }
+
+    @Benchmark
+    public Optional<User> loginUser() {
+        return userService.loginUser(username, Fixtures.PASSWORD);
+    }
+}
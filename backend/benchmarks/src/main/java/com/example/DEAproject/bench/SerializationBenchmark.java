@@ -0,0 +1,121 @@
+package com.example.DEAproject.bench;
+
+import com.example.DEAproject.dto.SubscriptionView;
+import com.example.DEAproject.model.Plan;
+import com.example.DEAproject.model.Trainer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON for the list endpoints, written to a discarding stream the way the
+ * message converter writes to the response. Trainers and plans are the
+ * entities the catalog returns; subscriptions are SubscriptionView, which is
+ * what /api/subscriptions sends (the entity itself is never serialized).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private ObjectWriter trainersWriter;
+    private ObjectWriter plansWriter;
+    private ObjectWriter subscriptionsWriter;
+    private List<Trainer> trainers;
+    private List<Plan> plans;
+    private List<SubscriptionView> subscriptions;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        trainersWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Trainer.class));
+        plansWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Plan.class));
+        subscriptionsWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, SubscriptionView.class));
+
+        trainers = new ArrayList<>(rows);
+        plans = new ArrayList<>(rows);
+        subscriptions = new ArrayList<>(rows);
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            long id = i + 1;
+            Trainer trainer = new Trainer();
+            trainer.setId(id);
+            trainer.setName("Trainer " + i);
+            trainer.setSpecialization(i % 2 == 0 ? "Strength" : "Cardio");
+            trainer.setEmail("trainer" + i + "@example.com");
+            trainer.setPhone("0771234" + (i % 1000));
+            trainer.setDescription("Certified coach with a focus on progressive overload and recovery.");
+            trainer.setExperience(i % 20);
+            trainer.setPhotoPath(String.format("%064x.jpg", id));
+            trainers.add(trainer);
+
+            Plan plan = new Plan();
+            plan.setId(id);
+            plan.setName("Plan " + i);
+            plan.setPrice(19.0 + i % 80);
+            plan.setDurationMonths(1 + i % 12);
+            plan.setDescription("Four sessions a week mixing compound lifts and conditioning.");
+            plan.setDuration((4 + i % 8) + " weeks");
+            plan.setDifficulty(i % 3 == 0 ? "Beginner" : i % 3 == 1 ? "Intermediate" : "Advanced");
+            plan.setTrainerId(id);
+            plans.add(plan);
+
+            subscriptions.add(new SubscriptionView(id, start.plusDays(i % 365), start.plusDays(i % 365 + 30),
+                    id, "member" + i, 1L, "Monthly", 49.0, 1, id, "Plan " + i, 19.0 + i % 80));
+        }
+    }
+
+    @Benchmark
+    public long trainers() throws IOException {
+        return write(trainersWriter, trainers);
+    }
+
+    @Benchmark
+    public long plans() throws IOException {
+        return write(plansWriter, plans);
+    }
+
+    @Benchmark
+    public long subscriptions() throws IOException {
+        return write(subscriptionsWriter, subscriptions);
+    }
+
+    private static long write(ObjectWriter writer, Object value) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        writer.writeValue(out, value);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
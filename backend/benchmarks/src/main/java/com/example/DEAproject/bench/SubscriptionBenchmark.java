@@ -0,0 +1,68 @@
+package com.example.DEAproject.bench;
+
+import com.example.DEAproject.dto.BulkEnrollmentResult;
+import com.example.DEAproject.model.MembershipPlan;
+import com.example.DEAproject.model.Subscription;
+import com.example.DEAproject.repository.MembershipPlanRepository;
+import com.example.DEAproject.repository.PlanRepository;
+import com.example.DEAproject.service.SubscriptionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SubscriptionServiceImpl.subscribeUser (one enrollment: three lookups, insert,
+ * revenue rollup upsert) and enrollUsers (the batched bulk path) against H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionBenchmark {
+
+    private static final int USERS = 2_000;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptions;
+    private List<Long> userIds;
+    private Long planId;
+    private Long membershipId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BackendContext.start();
+        subscriptions = context.getBean(SubscriptionService.class);
+        userIds = Fixtures.insertUsers(context, USERS);
+        planId = context.getBean(PlanRepository.class).findAll().get(0).getId();
+
+        MembershipPlan membership = new MembershipPlan();
+        membership.setName("Bench Monthly");
+        membership.setPrice(49.0);
+        membership.setDurationMonths(1);
+        membershipId = context.getBean(MembershipPlanRepository.class).save(membership).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Subscription subscribeUser() {
+        Long userId = userIds.get(next++ % USERS);
+        return subscriptions.subscribeUser(userId, planId, membershipId);
+    }
+
+    // One call enrolls 500 users; score is per call
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BulkEnrollmentResult enrollUsers500() {
+        int from = (next += 500) % (USERS - 500);
+        return subscriptions.enrollUsers(userIds.subList(from, from + 500), planId, membershipId);
+    }
+}
@@ -8,6 +8,9 @@ import com.example.DEAproject.repository.RoleRepository;
 import com.example.DEAproject.repository.UserRepository;
 import com.example.DEAproject.repository.TrainerRepository;
 import com.example.DEAproject.repository.PlanRepository;
+import com.example.DEAproject.security.RoleBits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -17,6 +20,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Profile("!test")
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final RoleRepository rr;
     private final UserRepository ur;
     private final PasswordEncoder pe;
@@ -40,6 +45,7 @@ public class DataInitializer implements CommandLineRunner {
             rr.save(new Role(null, "TRAINER"));
             rr.save(new Role(null, "USER"));
         }
+        RoleBits.of(rr.findAll()); // warns now, not at first login, about roles that would grant nothing
 
         // ===== Admin user =====
         if (ur.findByUsername("admin").isEmpty()) {
@@ -51,25 +57,12 @@ public class DataInitializer implements CommandLineRunner {
             admin.setPassword(encodedPassword);
             admin.getRoles().add(rr.findByName("ADMIN").get());
             ur.save(admin);
-            System.out.println("✅ Created default admin user");
-            System.out.println("   Username: admin");
-            System.out.println("   Password: admin123");
-            System.out.println("   Email: admin@fitnessharks.com");
-            System.out.println("   Password hash: " + encodedPassword);
-            
-            // Test the password immediately
-            boolean testMatch = pe.matches("admin123", encodedPassword);
-            System.out.println("   Password verification test: " + (testMatch ? "✅ PASS" : "❌ FAIL"));
+            log.info("Created default admin user 'admin' (change the default password)");
         } else {
-            System.out.println("ℹ️  Admin user already exists");
             User existingAdmin = ur.findByUsername("admin").get();
-            System.out.println("   Email: " + existingAdmin.getEmail());
-            System.out.println("   Password hash: " + existingAdmin.getPassword());
-            System.out.println("   Roles: " + existingAdmin.getRoles());
-            
-            // Test if the existing password works
-            boolean testMatch = pe.matches("admin123", existingAdmin.getPassword());
-            System.out.println("   Password 'admin123' works: " + (testMatch ? "✅ YES" : "❌ NO"));
+            if (pe.matches("admin123", existingAdmin.getPassword())) {
+                log.warn("Admin user still uses the default password");
+            }
         }
 
         // ===== Trainers =====
@@ -92,7 +85,7 @@ public class DataInitializer implements CommandLineRunner {
             t2.setExperience(10);
             trainerRepo.save(t2);
 
-            System.out.println("✅ Created default trainers");
+            log.info("Created default trainers");
         }
 
         // ===== Plans =====
@@ -109,7 +102,7 @@ public class DataInitializer implements CommandLineRunner {
             p2.setDurationMonths(3);
             planRepo.save(p2);
 
-            System.out.println("✅ Created default plans");
+            log.info("Created default plans");
         }
     }
 }
@@ -0,0 +1,57 @@
+package com.example.DEAproject.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Entities take ids from pooled, table-backed sequences (MySQL has no native
+ * sequences). Databases created while ids were AUTO_INCREMENT already hold rows,
+ * so each sequence is moved past the current max(id) before anything is inserted.
+ * Turned off (ids.align-sequences=false) on databases with native sequences, such as H2.
+ */
+@Component
+@ConditionalOnProperty(name = "ids.align-sequences", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdSequenceAligner implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    // Keep in sync with the @SequenceGenerator declarations on the entities
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "roles_seq", "roles",
+            "trainers_seq", "trainers",
+            "plans_seq", "plans",
+            "membership_plans_seq", "membership_plans",
+            "subscription_seq", "subscription",
+            "attendance_seq", "attendance");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        SEQUENCES.forEach((sequence, table) -> {
+            // A pooled block can start up to one allocation below next_val, hence the extra margin
+            int updated = jdbcTemplate.update(
+                    "update " + sequence + " set next_val = (select coalesce(max(id), 0) + ? from " + table + ")"
+                            + " where next_val <= (select coalesce(max(id), 0) + ? from " + table + ")",
+                    2 * ALLOCATION_SIZE, ALLOCATION_SIZE);
+            if (updated > 0) {
+                log.atInfo().addKeyValue("sequence", sequence).log("Moved id sequence past existing rows");
+            }
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.DEAproject.config;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Shared rules for masking credentials before a log line leaves the process
+final class LogRedaction {
+
+    static final String MASK = "***";
+
+    private static final Pattern SENSITIVE_KEY = Pattern.compile("(?i).*(password|passwd|secret|token|hash|credential).*");
+    private static final Pattern INLINE = Pattern.compile(
+            "(?i)((?:password|passwd|secret|token|hash)\\w*\\s*[=:]\\s*)('[^']*'|\"[^\"]*\"|\\S+)");
+    // BCrypt hashes can show up without a key, e.g. when an entity is printed
+    private static final Pattern BCRYPT = Pattern.compile("\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}");
+
+    private LogRedaction() {}
+
+    static boolean isSensitiveKey(String key) {
+        return key != null && SENSITIVE_KEY.matcher(key).matches();
+    }
+
+    static String redact(String text) {
+        if (text == null || text.isEmpty()) return text;
+        String masked = BCRYPT.matcher(text).replaceAll(MASK);
+        Matcher m = INLINE.matcher(masked);
+        return m.find() ? m.replaceAll("$1" + Matcher.quoteReplacement(MASK)) : masked;
+    }
+}
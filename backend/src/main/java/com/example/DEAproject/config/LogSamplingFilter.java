@@ -0,0 +1,53 @@
+package com.example.DEAproject.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in N events below WARN for the configured logger prefixes,
+ * e.g. {@code <rule>org.hibernate.SQL=100</rule>}.
+ * WARN and ERROR always pass. Runs on the caller thread before the event is queued.
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+
+    private final Map<String, Integer> rates = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public void addRule(String rule) {
+        int eq = rule.lastIndexOf('=');
+        if (eq <= 0) {
+            addWarn("Ignoring sampling rule without '=': " + rule);
+            return;
+        }
+        rates.put(rule.substring(0, eq).trim(), Math.max(1, Integer.parseInt(rule.substring(eq + 1).trim())));
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rates.isEmpty() || event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        String prefix = matchingPrefix(event.getLoggerName());
+        if (prefix == null) return FilterReply.NEUTRAL;
+
+        int rate = rates.get(prefix);
+        long n = counters.computeIfAbsent(prefix, k -> new AtomicLong()).getAndIncrement();
+        return n % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private String matchingPrefix(String loggerName) {
+        String best = null;
+        for (String prefix : rates.keySet()) {
+            if (loggerName.startsWith(prefix) && (best == null || prefix.length() > best.length())) {
+                best = prefix;
+            }
+        }
+        return best;
+    }
+}
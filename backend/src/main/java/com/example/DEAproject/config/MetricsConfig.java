@@ -0,0 +1,18 @@
+package com.example.DEAproject.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+// Counts entity loads per request (the session listener has no load callback)
+@Configuration
+public class MetricsConfig {
+
+    public MetricsConfig(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new RequestDbStatsListener());
+    }
+}
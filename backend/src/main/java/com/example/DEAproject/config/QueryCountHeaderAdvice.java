@@ -0,0 +1,41 @@
+package com.example.DEAproject.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Development aid (db.query-count.headers=true): adds the SQL statements run so
+ * far to each JSON response, as X-Query-Count and X-Query-Count-Max-Tx (the
+ * busiest single transaction). Set just before the body is written, since
+ * headers cannot change once it is.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "db.query-count.headers", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String QUERY_COUNT = "X-Query-Count";
+    public static final String QUERY_COUNT_MAX_TX = "X-Query-Count-Max-Tx";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats != null) {
+            response.getHeaders().set(QUERY_COUNT, Integer.toString(stats.statements));
+            response.getHeaders().set(QUERY_COUNT_MAX_TX, Integer.toString(stats.maxTransactionStatements));
+        }
+        return body;
+    }
+}
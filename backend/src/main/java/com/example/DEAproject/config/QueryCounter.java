@@ -0,0 +1,44 @@
+package com.example.DEAproject.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts every SQL statement Hibernate prepares (a JDBC batch counts once)
+ * into the current RequestDbStats, in total and per transaction. Registered
+ * with hibernate.session_factory.statement_inspector; does nothing outside a
+ * RequestDbStats scope, so background jobs pay one ThreadLocal read.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final Object TRANSACTION_KEY = new Object();
+
+    @Override
+    public String inspect(String sql) {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats == null) return sql;
+        stats.statement(sql);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionCount count = (TransactionCount) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+            if (count == null) {
+                count = new TransactionCount();
+                TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, count);
+                TransactionSynchronizationManager.registerSynchronization(count);
+            }
+            count.statements++;
+        }
+        return sql;
+    }
+
+    private static final class TransactionCount implements TransactionSynchronization {
+        int statements;
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+            RequestDbStats stats = RequestDbStats.current();
+            if (stats != null) stats.transactionCompleted(statements);
+        }
+    }
+}
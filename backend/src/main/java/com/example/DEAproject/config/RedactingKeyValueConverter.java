@@ -0,0 +1,31 @@
+package com.example.DEAproject.config;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+// %redactedKvp in logback-spring.xml: SLF4J key/value pairs as logfmt, credential keys masked
+public class RedactingKeyValueConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        if (pairs == null || pairs.isEmpty()) return "";
+
+        StringBuilder sb = new StringBuilder();
+        for (KeyValuePair kv : pairs) {
+            String value = LogRedaction.isSensitiveKey(kv.key)
+                    ? LogRedaction.MASK
+                    : LogRedaction.redact(String.valueOf(kv.value));
+            sb.append(' ').append(kv.key).append('=');
+            if (value.indexOf(' ') >= 0 || value.indexOf('"') >= 0) {
+                sb.append('"').append(value.replace("\"", "'")).append('"');
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.DEAproject.config;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+// %redactedMsg in logback-spring.xml: the formatted message with credentials masked
+public class RedactingMessageConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return LogRedaction.redact(event.getFormattedMessage()).replace("\"", "'");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.DEAproject.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Database work done while serving the current HTTP request: statements sent,
+ * entities loaded, second-level cache lookups and time spent waiting for a
+ * pooled connection. Bound to the request thread by RequestMetricsFilter and
+ * filled in by QueryCounter and the Hibernate listeners; outside a scope
+ * nothing is recorded.
+ *
+ * Scopes nest: when an inner scope closes its counts are added to the outer
+ * one, so a test can wrap a MockMvc call and still see what the request did.
+ */
+public final class RequestDbStats implements AutoCloseable {
+
+    private static final ThreadLocal<RequestDbStats> CURRENT = new ThreadLocal<>();
+
+    private final RequestDbStats parent;
+    private final List<String> sql; // only kept when recording, see record()
+
+    int statements;
+    int maxTransactionStatements;
+    int entityLoads;
+    int cacheHits;
+    int cacheMisses;
+    long connectionWaitNanos;
+
+    private RequestDbStats(RequestDbStats parent, boolean recordSql) {
+        this.parent = parent;
+        this.sql = recordSql || (parent != null && parent.sql != null) ? new ArrayList<>() : null;
+    }
+
+    // Counts only
+    public static RequestDbStats open() {
+        return open(false);
+    }
+
+    // Counts plus the SQL text of every statement, for test failure messages
+    public static RequestDbStats record() {
+        return open(true);
+    }
+
+    private static RequestDbStats open(boolean recordSql) {
+        RequestDbStats stats = new RequestDbStats(CURRENT.get(), recordSql);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+            return;
+        }
+        CURRENT.set(parent);
+        parent.statements += statements;
+        parent.maxTransactionStatements = Math.max(parent.maxTransactionStatements, maxTransactionStatements);
+        parent.entityLoads += entityLoads;
+        parent.cacheHits += cacheHits;
+        parent.cacheMisses += cacheMisses;
+        parent.connectionWaitNanos += connectionWaitNanos;
+        if (parent.sql != null && sql != null) parent.sql.addAll(sql);
+    }
+
+    // null when the current thread is not inside a scope
+    static RequestDbStats current() {
+        return CURRENT.get();
+    }
+
+    void statement(String text) {
+        statements++;
+        if (sql != null) sql.add(text);
+    }
+
+    void transactionCompleted(int transactionStatements) {
+        maxTransactionStatements = Math.max(maxTransactionStatements, transactionStatements);
+    }
+
+    public int getStatements() { return statements; }
+    public int getMaxTransactionStatements() { return maxTransactionStatements; }
+    public int getEntityLoads() { return entityLoads; }
+    public int getCacheHits() { return cacheHits; }
+    public int getCacheMisses() { return cacheMisses; }
+    public long getConnectionWaitNanos() { return connectionWaitNanos; }
+    public List<String> getSql() { return sql == null ? List.of() : List.copyOf(sql); }
+}
@@ -0,0 +1,42 @@
+package com.example.DEAproject.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Feeds RequestDbStats with connection waits, cache lookups and entity loads
+ * (statements are counted by QueryCounter). Hibernate creates one instance per
+ * session (hibernate.session.events.auto); entity loads come through the
+ * POST_LOAD registration in MetricsConfig, which shares this class.
+ */
+public class RequestDbStatsListener implements SessionEventListener, PostLoadEventListener {
+
+    private long acquisitionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats != null && acquisitionStart != 0) stats.connectionWaitNanos += System.nanoTime() - acquisitionStart;
+        acquisitionStart = 0;
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats == null) return;
+        if (hit) stats.cacheHits++;
+        else stats.cacheMisses++;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats != null) stats.entityLoads++;
+    }
+}
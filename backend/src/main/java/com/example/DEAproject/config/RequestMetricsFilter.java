@@ -0,0 +1,102 @@
+package com.example.DEAproject.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the database side of each /api request, tagged like Spring's
+ * http.server.requests timer (method, uri template, status) so the two line up:
+ * statements, entity loads, second-level cache hits/misses and connection wait.
+ * Meters are cached per tag set, so recording is a map lookup and a few adds.
+ * Requests over db.query-count.warn-per-request statements are logged.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private record Route(String method, String uri, int status) {}
+
+    private record Meters(DistributionSummary statements, DistributionSummary entityLoads,
+                          DistributionSummary cacheHits, DistributionSummary cacheMisses, Timer connectionWait) {}
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final int warnStatements;
+    private final Map<Route, Meters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry registry,
+                                @Value("${db.query-count.warn-per-request:100}") int warnStatements) {
+        this.registry = registry;
+        this.warnStatements = warnStatements;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDbStats stats = RequestDbStats.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            stats.close();
+            String uri = uri(request, response);
+            Meters m = meters.computeIfAbsent(new Route(request.getMethod(), uri, response.getStatus()), this::register);
+            m.statements().record(stats.statements);
+            m.entityLoads().record(stats.entityLoads);
+            m.cacheHits().record(stats.cacheHits);
+            m.cacheMisses().record(stats.cacheMisses);
+            m.connectionWait().record(stats.connectionWaitNanos, TimeUnit.NANOSECONDS);
+            if (stats.statements > warnStatements) {
+                // Usually an N+1: a lazy association or per-row lookup inside a loop
+                log.atWarn().addKeyValue("method", request.getMethod()).addKeyValue("uri", uri)
+                        .addKeyValue("statements", stats.statements)
+                        .addKeyValue("maxPerTransaction", stats.maxTransactionStatements)
+                        .log("Request exceeded the SQL statement budget");
+            }
+        }
+    }
+
+    // Same uri tag values Spring MVC's observation uses, so cardinality stays bounded
+    private static String uri(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) return pattern.toString();
+        return response.getStatus() == 404 ? "NOT_FOUND" : "UNKNOWN";
+    }
+
+    private Meters register(Route route) {
+        Tags tags = Tags.of("method", route.method(), "uri", route.uri(), "status", Integer.toString(route.status()));
+        return new Meters(
+                summary("http.server.requests.db.statements", "JDBC statements and batches per request", tags),
+                summary("http.server.requests.db.entity.loads", "Entities loaded per request", tags),
+                summary("http.server.requests.db.cache.hits", "Second-level cache hits per request", tags),
+                summary("http.server.requests.db.cache.misses", "Second-level cache misses per request", tags),
+                Timer.builder("http.server.requests.db.connection.wait")
+                        .description("Time spent waiting for pooled connections per request")
+                        .tags(tags).register(registry));
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name).description(description).tags(tags).register(registry);
+    }
+}
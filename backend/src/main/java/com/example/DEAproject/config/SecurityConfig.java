@@ -1,20 +1,39 @@
 package com.example.DEAproject.config;
 
+import com.example.DEAproject.security.AccessTokenFilter;
+import com.example.DEAproject.security.AccessTokenService;
 import com.example.DEAproject.security.CustomUserDetailsService;
+import com.example.DEAproject.security.RoleBits;
+import com.example.DEAproject.security.RoleBitsAuthorizationManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 
 @Configuration
+@EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final RoleBitsAuthorizationManager ADMIN = RoleBitsAuthorizationManager.hasRole(RoleBits.ADMIN);
+    private static final RoleBitsAuthorizationManager STAFF = RoleBitsAuthorizationManager.hasAnyRole(RoleBits.ADMIN | RoleBits.TRAINER);
+
     private final CustomUserDetailsService userDetailsService;
 
+    @Value("${auth.stateless.enabled:false}")
+    private boolean stateless;
+
     public SecurityConfig(CustomUserDetailsService userDetailsService) {
         this.userDetailsService = userDetailsService;
     }
@@ -30,9 +49,53 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityContextRepository securityContextRepository() {
+        return new HttpSessionSecurityContextRepository();
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, SecurityContextRepository contextRepository,
+                                           AccessTokenService tokens) throws Exception {
         http.csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+                .securityContext(sc -> sc.securityContextRepository(contextRepository))
+                .authorizeHttpRequests(auth -> auth
+                        // Catalog writes
+                        .requestMatchers(HttpMethod.POST, "/api/trainers/**", "/api/plans/**", "/api/memberships/**").access(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/trainers/**", "/api/plans/**", "/api/memberships/**").access(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/api/trainers/**", "/api/plans/**", "/api/memberships/**").access(ADMIN)
+                        .requestMatchers(HttpMethod.GET, "/api/trainers/photos/cache-stats").access(ADMIN)
+                        // Login hashing pool state (queue depth, rejections)
+                        .requestMatchers(HttpMethod.GET, "/api/auth/hashing-stats").access(ADMIN)
+                        // User administration
+                        .requestMatchers(HttpMethod.GET, "/api/users", "/api/users/directory", "/api/users/export").access(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/users/import").access(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/api/users/**").access(ADMIN)
+                        // Subscription listings and exports
+                        .requestMatchers(HttpMethod.GET, "/api/subscriptions", "/api/subscriptions/page", "/api/subscriptions/export").access(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/subscriptions/enroll").access(ADMIN)
+                        // Door check-in: gates and front desk sign in as staff; results include membership end dates
+                        .requestMatchers("/api/checkin/**").access(STAFF)
+                        // Finance dashboards
+                        .requestMatchers("/api/analytics/**").access(ADMIN)
+                        // Metrics (Prometheus scrape at /actuator/prometheus); health stays public for probes
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").access(ADMIN)
+                        .anyRequest().permitAll())
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((request, response, e) -> writeForbidden(response))
+                        .accessDeniedHandler((request, response, e) -> writeForbidden(response)));
+
+        if (stateless) {
+            // Identity comes only from the signed bearer token, nothing is kept server-side
+            http.sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .addFilterBefore(new AccessTokenFilter(tokens), UsernamePasswordAuthenticationFilter.class);
+        }
         return http.build();
     }
+
+    private static void writeForbidden(jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
+        response.setStatus(403);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Admin access required\"}");
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.DEAproject.controller;
+
+import com.example.DEAproject.service.RevenueRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final RevenueRollupService rollupService;
+
+    public AnalyticsController(RevenueRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    // ✅ Revenue per day, membership and training plan (Admin use); defaults to the last 30 days
+    @GetMapping("/revenue")
+    public ResponseEntity<?> revenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        try {
+            return ResponseEntity.ok(rollupService.report(start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ✅ Recompute all rollups from the subscription table (Admin use)
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<?> rebuild() {
+        return ResponseEntity.ok(Map.of("rows", rollupService.rebuild()));
+    }
+}
@@ -5,42 +5,58 @@ import com.example.DEAproject.model.Role;
 import com.example.DEAproject.model.User;
 import com.example.DEAproject.repository.RoleRepository;
 import com.example.DEAproject.repository.UserRepository;
-import jakarta.servlet.http.HttpSession;
+import com.example.DEAproject.security.AuthSessionManager;
+import com.example.DEAproject.security.AuthenticatedUser;
+import com.example.DEAproject.security.HashingRejectedException;
+import com.example.DEAproject.security.PasswordHashingExecutor;
+import com.example.DEAproject.service.DuplicateUserException;
+import com.example.DEAproject.service.UserAvailabilityService;
+import com.example.DEAproject.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository userRepo;
     private final RoleRepository roleRepo;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authManager;
-
-    public AuthController(UserRepository ur, RoleRepository rr, PasswordEncoder pe, AuthenticationManager am) {
+    private final PasswordHashingExecutor hashing;
+    private final AuthSessionManager authSession;
+    private final UserService userService;
+    private final UserAvailabilityService availabilityService;
+
+    public AuthController(UserRepository ur, RoleRepository rr, PasswordEncoder pe, AuthenticationManager am,
+                          PasswordHashingExecutor hashing, AuthSessionManager authSession,
+                          UserService userService, UserAvailabilityService availabilityService) {
         this.userRepo = ur;
         this.roleRepo = rr;
         this.passwordEncoder = pe;
         this.authManager = am;
+        this.hashing = hashing;
+        this.authSession = authSession;
+        this.userService = userService;
+        this.availabilityService = availabilityService;
     }
 
     // Register a new user
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody UserDTO dto) {
-        if (userRepo.findByUsername(dto.getUsername()).isPresent()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "username taken"));
-        }
-        if (userRepo.findByEmail(dto.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "email taken"));
-        }
-
         User u = new User();
         u.setUsername(dto.getUsername());
         u.setEmail(dto.getEmail());
@@ -50,110 +66,112 @@ public class AuthController {
         Role userRole = roleRepo.findByName("USER")
                 .orElseGet(() -> roleRepo.save(new Role(null, "USER")));
         u.getRoles().add(userRole);
-        userRepo.save(u);
+        try {
+            userService.createUser(u);
+        } catch (DuplicateUserException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage(), "field", e.getField()));
+        }
 
         return ResponseEntity.created(URI.create("/api/users/" + u.getId()))
                 .body(Map.of("msg", "created"));
     }
 
+    // Live check for the sign-up form; most answers come from the bloom filters without a query
+    @GetMapping("/availability")
+    public ResponseEntity<?> availability(@RequestParam(required = false) String username,
+                                          @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            return ResponseEntity.badRequest().body(Map.of("error", "username or email is required"));
+        }
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        if (username != null && !username.isBlank()) result.put("username", availabilityService.isUsernameAvailable(username));
+        if (email != null && !email.isBlank()) result.put("email", availabilityService.isEmailAvailable(email));
+        return ResponseEntity.ok(result);
+    }
+
     // Login
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> body, HttpSession session) {
+    public ResponseEntity<?> login(@RequestBody Map<String, String> body,
+                                   HttpServletRequest request, HttpServletResponse response) {
         String username = body.get("username");
         String password = body.get("password");
 
-        System.out.println("🔐 Login attempt - Username: " + username);
-        System.out.println("   Password received: '" + password + "'");
-        System.out.println("   Password length: " + (password != null ? password.length() : "null"));
-
         User user = userRepo.findByUsername(username).orElse(null);
         if (user == null) {
-            System.out.println("❌ User not found: " + username);
+            log.atWarn().addKeyValue("username", username).log("Login failed: unknown user");
             return ResponseEntity.status(401).body(Map.of("error", "Invalid username or password"));
         }
 
-        System.out.println("✅ User found: " + username);
-        System.out.println("   Email: " + user.getEmail());
-        System.out.println("   Roles: " + user.getRoles());
-        System.out.println("   Password hash in DB (FULL): " + user.getPassword());
-        System.out.println("   Password hash length: " + user.getPassword().length());
-        System.out.println("   Expected hash: $2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy");
-        System.out.println("   Expected length: 60");
-        System.out.println("   Hashes match: " + user.getPassword().equals("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
-        
-        // Test with the known password
-        System.out.println("   Testing BCrypt with 'admin123':");
-        boolean testMatch = passwordEncoder.matches("admin123", user.getPassword());
-        System.out.println("   Direct 'admin123' matches: " + testMatch);
-        
-        System.out.println("   Testing BCrypt with received password:");
-        boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
-        System.out.println("   Received password matches: " + passwordMatches);
-        
-        // If direct test works but received doesn't, there's an issue with what's being sent
-        if (testMatch && !passwordMatches) {
-            System.out.println("   ⚠️ WARNING: 'admin123' works but received password doesn't!");
-            System.out.println("   This means the frontend is sending the wrong password.");
+        // One BCrypt check per attempt, on the bounded hashing pool
+        boolean passwordMatches;
+        try {
+            passwordMatches = hashing.matches(password, user.getPassword());
+        } catch (HashingRejectedException e) {
+            return ResponseEntity.status(429).header("Retry-After", "1").body(Map.of("error", e.getMessage()));
         }
 
         if (!passwordMatches) {
-            System.out.println("❌ Password does not match for user: " + username);
+            log.atWarn().addKeyValue("username", username).log("Login failed: bad password");
             return ResponseEntity.status(401).body(Map.of("error", "Invalid username or password"));
         }
 
-        // Store info in session
-        session.setAttribute("loggedUser", user.getUsername());
-        session.setAttribute("userId", user.getId());
-        session.setAttribute("roles", user.getRoles());
+        // Session or signed token, depending on auth.stateless.enabled
+        String token = authSession.signIn(user, request, response);
 
         // Determine role
         String role = user.getRoles().stream()
                 .anyMatch(r -> "ADMIN".equals(r.getName())) ? "ADMIN" : "USER";
 
-        System.out.println("✅ Login successful for: " + username + " (Role: " + role + ")");
+        log.atInfo().addKeyValue("username", username).addKeyValue("role", role).log("Login succeeded");
 
         // Return user data
-        return ResponseEntity.ok(Map.of(
-            "msg", "logged-in",
-            "user", Map.of(
-                "id", user.getId(),
-                "username", user.getUsername(),
-                "email", user.getEmail(),
-                "phone", user.getPhone() != null ? user.getPhone() : "",
-                "role", role
-            )
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("msg", "logged-in");
+        result.put("user", Map.of(
+            "id", user.getId(),
+            "username", user.getUsername(),
+            "email", user.getEmail(),
+            "phone", user.getPhone() != null ? user.getPhone() : "",
+            "role", role
         ));
+        if (token != null) {
+            result.put("token", token);
+            result.put("expiresIn", authSession.getTokenTtl().toSeconds());
+        }
+        return ResponseEntity.ok(result);
     }
 
     // Logout
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpSession session) {
-        session.invalidate();
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        authSession.signOut(request);
         return ResponseEntity.ok(Map.of("msg", "logged out"));
     }
 
-    // Check current session
+    // Password hashing pool queue depth and latency (Admin use)
+    @GetMapping("/hashing-stats")
+    public ResponseEntity<?> hashingStats() {
+        return ResponseEntity.ok(hashing.stats());
+    }
+
+    // Check current session (or bearer token)
     @GetMapping("/session")
-    public ResponseEntity<?> checkSession(HttpSession session) {
-        String loggedUser = (String) session.getAttribute("loggedUser");
-        if (loggedUser != null) {
-            // Get full user data
-            User user = userRepo.findByUsername(loggedUser).orElse(null);
-            if (user != null) {
-                String role = user.getRoles().stream()
-                        .anyMatch(r -> "ADMIN".equals(r.getName())) ? "ADMIN" : "USER";
-                
-                return ResponseEntity.ok(Map.of(
-                    "user", loggedUser,
-                    "userId", user.getId(),
-                    "email", user.getEmail(),
-                    "phone", user.getPhone() != null ? user.getPhone() : "",
-                    "role", role
-                ));
-            }
-            return ResponseEntity.ok(Map.of("user", loggedUser));
-        } else {
+    public ResponseEntity<?> checkSession() {
+        AuthenticatedUser current = AuthSessionManager.current().orElse(null);
+        if (current == null) {
             return ResponseEntity.status(401).body(Map.of("error", "No active session"));
         }
+        // Get full user data
+        User user = userRepo.findById(current.getId()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.ok(Map.of("user", current.getUsername()));
+        }
+        return ResponseEntity.ok(Map.of(
+            "user", user.getUsername(),
+            "userId", user.getId(),
+            "email", user.getEmail(),
+            "phone", user.getPhone() != null ? user.getPhone() : "",
+            "role", current.isAdmin() ? "ADMIN" : "USER"
+        ));
     }
 }
@@ -0,0 +1,47 @@
+package com.example.DEAproject.controller;
+
+import com.example.DEAproject.service.CheckInService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/checkin")
+@CrossOrigin(origins = "*")
+public class CheckInController {
+
+    private final CheckInService checkInService;
+
+    public CheckInController(CheckInService checkInService) {
+        this.checkInService = checkInService;
+    }
+
+    // ✅ Door/turnstile check-in (Staff use); answered from memory, allowed=false when no active subscription
+    @PostMapping("/{userId}")
+    public ResponseEntity<?> checkIn(@PathVariable long userId) {
+        try {
+            return ResponseEntity.ok(checkInService.checkIn(userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).header("Retry-After", "1").body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ✅ Check-out on the way out (Staff use)
+    @PostMapping("/{userId}/out")
+    public ResponseEntity<?> checkOut(@PathVariable long userId) {
+        try {
+            return ResponseEntity.ok(Map.of("userId", userId, "occupancy", checkInService.checkOut(userId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ✅ Live occupancy and today's counters (Staff use)
+    @GetMapping("/occupancy")
+    public Map<String, Long> occupancy() {
+        return checkInService.stats();
+    }
+}
@@ -1,15 +1,13 @@
 package com.example.DEAproject.controller;
 
 import com.example.DEAproject.model.MembershipPlan;
+import com.example.DEAproject.service.CatalogCache;
 import com.example.DEAproject.service.MembershipPlanService;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.Set;
-
 @RestController
 @RequestMapping("/api/memberships") // clear URL
 public class MembershipPlanController {
@@ -17,10 +15,13 @@ public class MembershipPlanController {
     @Autowired
     private MembershipPlanService planService;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
     // ✅ Get all memberships
     @GetMapping
-    public List<MembershipPlan> getAllMemberships() {
-        return planService.getAllPlans();
+    public ResponseEntity<byte[]> getAllMemberships(HttpServletRequest request) {
+        return catalogCache.respond(CatalogCache.Catalog.MEMBERSHIPS, request, planService::getAllPlans);
     }
 
     // ✅ Get one by ID
@@ -33,18 +34,14 @@ public class MembershipPlanController {
 
     // ✅ Admin adds membership
     @PostMapping
-    public ResponseEntity<MembershipPlan> createMembership(@RequestBody MembershipPlan plan, HttpSession session) {
-        if(!isAdmin(session)) return ResponseEntity.status(403).build();
+    public ResponseEntity<MembershipPlan> createMembership(@RequestBody MembershipPlan plan) {
         return ResponseEntity.ok(planService.savePlan(plan));
     }
 
     // ✅ Admin updates membership
     @PutMapping("/{id}")
     public ResponseEntity<MembershipPlan> updateMembership(@PathVariable Long id,
-                                                           @RequestBody MembershipPlan planDetails,
-                                                           HttpSession session) {
-        if(!isAdmin(session)) return ResponseEntity.status(403).build();
-
+                                                           @RequestBody MembershipPlan planDetails) {
         return planService.getPlanById(id)
                 .map(plan -> {
                     plan.setName(planDetails.getName());
@@ -57,17 +54,8 @@ public class MembershipPlanController {
 
     // ✅ Admin deletes membership
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteMembership(@PathVariable Long id, HttpSession session) {
-        if(!isAdmin(session)) return ResponseEntity.status(403).build();
+    public ResponseEntity<Void> deleteMembership(@PathVariable Long id) {
         planService.deletePlan(id);
         return ResponseEntity.noContent().build();
     }
-
-    // Helper
-    private boolean isAdmin(HttpSession session) {
-        @SuppressWarnings("unchecked")
-        Set<com.example.DEAproject.model.Role> roles = (Set<com.example.DEAproject.model.Role>) session.getAttribute("roles");
-        if(roles == null) return false;
-        return roles.stream().anyMatch(r -> "ADMIN".equals(r.getName()));
-    }
 }
@@ -1,21 +1,37 @@
 package com.example.DEAproject.controller;
 
+import com.example.DEAproject.dto.FieldSet;
+import com.example.DEAproject.dto.PlanFilter;
 import com.example.DEAproject.model.Plan;
 import com.example.DEAproject.repository.PlanRepository;
+import com.example.DEAproject.repository.PlanSpecifications;
+import com.example.DEAproject.repository.SparseFieldQuery;
+import com.example.DEAproject.service.CatalogCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/plans")
 public class PlanController {
 
+    private static final Set<String> SORTABLE = Set.of("name", "price", "durationMonths", "difficulty");
+    private static final Set<String> SELECTABLE = Set.of(
+            "id", "name", "price", "durationMonths", "description", "duration", "difficulty", "trainerId");
+
     private final PlanRepository planRepository;
+    private final CatalogCache catalogCache;
+    private final SparseFieldQuery sparseFieldQuery;
 
-    public PlanController(PlanRepository planRepository) {
+    public PlanController(PlanRepository planRepository, CatalogCache catalogCache, SparseFieldQuery sparseFieldQuery) {
         this.planRepository = planRepository;
+        this.catalogCache = catalogCache;
+        this.sparseFieldQuery = sparseFieldQuery;
     }
 
     // ✅ Add a new training plan (Admin only)
@@ -23,13 +39,46 @@ public class PlanController {
     @PostMapping
     public ResponseEntity<Plan> createPlan(@RequestBody Plan plan) {
         Plan saved = planRepository.save(plan);
+        catalogCache.invalidate(CatalogCache.Catalog.PLANS);
         return ResponseEntity.ok(saved);
     }
 
-    // ✅ Get all training plans (everyone can view)
+    // ✅ Get training plans with their trainer embedded (everyone can view)
+    // Optional filters: difficulty, minPrice, maxPrice, durationMonths, trainerId; sort=price or sort=-price etc.
+    // ?fields=id,name returns only those plan columns (no embedded trainer)
     @GetMapping
-    public ResponseEntity<List<Plan>> getAllPlans() {
-        return ResponseEntity.ok(planRepository.findAll());
+    public ResponseEntity<?> getAllPlans(HttpServletRequest request,
+                                         @RequestParam(required = false) String difficulty,
+                                         @RequestParam(required = false) Double minPrice,
+                                         @RequestParam(required = false) Double maxPrice,
+                                         @RequestParam(required = false) Integer durationMonths,
+                                         @RequestParam(required = false) Long trainerId,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String fields) {
+        PlanFilter filter = new PlanFilter(difficulty, minPrice, maxPrice, durationMonths, trainerId);
+        if (filter.isEmpty() && sort == null && fields == null) {
+            // The unfiltered catalog is served pre-serialized from the cache
+            return catalogCache.respond(CatalogCache.Catalog.PLANS, request,
+                    () -> planRepository.findViews(null, Sort.unsorted()));
+        }
+        Sort order = Sort.unsorted();
+        if (sort != null) {
+            boolean desc = sort.startsWith("-");
+            String property = desc ? sort.substring(1) : sort;
+            if (!SORTABLE.contains(property)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "sort must be one of " + SORTABLE + ", optionally prefixed with -"));
+            }
+            order = Sort.by(desc ? Sort.Direction.DESC : Sort.Direction.ASC, property);
+        }
+        if (fields != null) {
+            try {
+                FieldSet fieldSet = FieldSet.parse(fields, SELECTABLE);
+                return ResponseEntity.ok(sparseFieldQuery.select(Plan.class, fieldSet.getNames(), PlanSpecifications.matching(filter), order));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        return ResponseEntity.ok(planRepository.findViews(PlanSpecifications.matching(filter), order));
     }
 
     // ✅ Update a plan (Admin only)
@@ -47,7 +96,9 @@ public class PlanController {
             if (plan.getPrice() != null) existing.setPrice(plan.getPrice());
             if (plan.getDurationMonths() != null) existing.setDurationMonths(plan.getDurationMonths());
             if (plan.getTrainerId() != null) existing.setTrainerId(plan.getTrainerId());
-            return ResponseEntity.ok(planRepository.save(existing));
+            Plan saved = planRepository.save(existing);
+            catalogCache.invalidate(CatalogCache.Catalog.PLANS);
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -59,6 +110,7 @@ public class PlanController {
             return ResponseEntity.notFound().build();
         }
         planRepository.deleteById(id);
+        catalogCache.invalidate(CatalogCache.Catalog.PLANS);
         return ResponseEntity.ok("Plan deleted successfully");
     }
 }
@@ -1,10 +1,20 @@
 package com.example.DEAproject.controller;
 
-import com.example.DEAproject.model.Subscription;
+import com.example.DEAproject.dto.BulkEnrollmentRequest;
+import com.example.DEAproject.dto.SubscriptionFilter;
+import com.example.DEAproject.dto.SubscriptionView;
+import com.example.DEAproject.service.ExportService;
 import com.example.DEAproject.service.SubscriptionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/subscriptions")
@@ -12,28 +22,76 @@ import java.util.List;
 public class SubscriptionController {
 
     private final SubscriptionService subscriptionService;
+    private final ExportService exportService;
 
-    public SubscriptionController(SubscriptionService subscriptionService) {
+    public SubscriptionController(SubscriptionService subscriptionService, ExportService exportService) {
         this.subscriptionService = subscriptionService;
+        this.exportService = exportService;
     }
 
     // ✅ Subscribe user to membership and optional plan
     @PostMapping("/subscribe")
-    public Subscription subscribeUser(@RequestParam Long userId,
-                                      @RequestParam(required = false) Long planId,
-                                      @RequestParam Long membershipId) {
-        return subscriptionService.subscribeUser(userId, planId, membershipId);
+    public SubscriptionView subscribeUser(@RequestParam Long userId,
+                                          @RequestParam(required = false) Long planId,
+                                          @RequestParam Long membershipId) {
+        return SubscriptionView.from(subscriptionService.subscribeUser(userId, planId, membershipId));
+    }
+
+    // ✅ Enroll a group of users into one membership (and optional plan) in a single call (Admin use)
+    @PostMapping("/enroll")
+    public ResponseEntity<?> enrollUsers(@RequestBody BulkEnrollmentRequest request) {
+        try {
+            return ResponseEntity.ok(subscriptionService.enrollUsers(
+                    request.getUserIds(), request.getPlanId(), request.getMembershipId()));
+        } catch (IllegalArgumentException e) {
+            // Empty list, missing or unknown membership/plan; anything else is a server error
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // ✅ Get all subscriptions (Admin use)
     @GetMapping
-    public List<Subscription> getAllSubscriptions() {
+    public List<SubscriptionView> getAllSubscriptions() {
         return subscriptionService.getAllSubscriptions();
     }
 
+    // ✅ Cursor-paged subscriptions (Admin use); pass nextCursor back to get the following page
+    @GetMapping("/page")
+    public ResponseEntity<?> getSubscriptionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Long membershipId,
+            @RequestParam(required = false) Long planId,
+            @RequestParam(required = false) SubscriptionFilter.Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            SubscriptionFilter filter = new SubscriptionFilter(membershipId, planId, status, from, to);
+            return ResponseEntity.ok(subscriptionService.getSubscriptionsPage(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ✅ Stream all subscriptions as NDJSON or CSV (finance export)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubscriptions(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format fmt;
+        try {
+            fmt = ExportService.parseFormat(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exportService.error(e.getMessage()));
+        }
+        StreamingResponseBody body = out -> exportService.exportSubscriptions(fmt, out);
+        return ResponseEntity.ok()
+                .contentType(fmt == ExportService.Format.CSV ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=subscriptions." + fmt.name().toLowerCase())
+                .body(body);
+    }
+
     // ✅ View my subscriptions by userId
     @GetMapping("/user/{userId}")
-    public List<Subscription> getUserSubscriptions(@PathVariable Long userId) {
+    public List<SubscriptionView> getUserSubscriptions(@PathVariable Long userId) {
         return subscriptionService.getSubscriptionsByUser(userId);
     }
 }
@@ -1,94 +1,81 @@
 package com.example.DEAproject.controller;
 
+import com.example.DEAproject.dto.FieldSet;
 import com.example.DEAproject.model.Trainer;
+import com.example.DEAproject.security.AuthSessionManager;
+import com.example.DEAproject.security.AuthenticatedUser;
+import com.example.DEAproject.service.CatalogCache;
 import com.example.DEAproject.service.TrainerService;
-import jakarta.servlet.http.HttpSession;
+import com.example.DEAproject.service.TrainerServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.Set;
-
 @RestController
 @RequestMapping("/api/trainers")
 public class TrainerController {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainerController.class);
+
     private final TrainerService trainerService;
+    private final CatalogCache catalogCache;
 
-    public TrainerController(TrainerService trainerService) {
+    public TrainerController(TrainerService trainerService, CatalogCache catalogCache) {
         this.trainerService = trainerService;
-    }
-
-    private boolean isAdmin(HttpSession session) {
-        String loggedUser = (String) session.getAttribute("loggedUser");
-        System.out.println("🔍 Checking admin access - Logged user: " + loggedUser);
-        
-        if (loggedUser == null) {
-            System.out.println("❌ No logged user in session");
-            return false;
-        }
-        
-        // Simple check: if username is "admin", they're admin
-        if ("admin".equals(loggedUser)) {
-            System.out.println("✅ User is admin (by username)");
-            return true;
-        }
-        
-        // Check roles from session
-        Set<?> roles = (Set<?>) session.getAttribute("roles");
-        System.out.println("🔍 Roles in session: " + roles);
-        
-        if (roles == null) {
-            System.out.println("❌ No roles in session");
-            return false;
-        }
-        
-        boolean hasAdminRole = roles.stream().anyMatch(r -> {
-            String roleStr = r.toString();
-            System.out.println("🔍 Checking role: " + roleStr);
-            return roleStr.contains("ADMIN");
-        });
-        
-        System.out.println(hasAdminRole ? "✅ Has ADMIN role" : "❌ No ADMIN role found");
-        return hasAdminRole;
+        this.catalogCache = catalogCache;
     }
 
     // Add new trainer - only admin
     @PostMapping
-    public ResponseEntity<?> addTrainer(@RequestBody Trainer trainer, HttpSession session) {
+    public ResponseEntity<?> addTrainer(@RequestBody Trainer trainer) {
         try {
-            if (!isAdmin(session)) {
-                return ResponseEntity.status(403).body(java.util.Map.of("error", "Admin access required"));
-            }
-            System.out.println("📝 Adding trainer: " + trainer.getName());
             Trainer saved = trainerService.addTrainer(trainer);
-            System.out.println("✅ Trainer added successfully with ID: " + saved.getId());
+            log.atInfo().addKeyValue("trainerId", saved.getId()).log("Trainer added");
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
-            System.err.println("❌ Error adding trainer: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error adding trainer", e);
             return ResponseEntity.status(500).body(java.util.Map.of("error", e.getMessage()));
         }
     }
 
     // Debug endpoint to check session
     @GetMapping("/debug-session")
-    public ResponseEntity<?> debugSession(HttpSession session) {
-        String loggedUser = (String) session.getAttribute("loggedUser");
-        Set<?> roles = (Set<?>) session.getAttribute("roles");
-        Long userId = (Long) session.getAttribute("userId");
-        
+    public ResponseEntity<?> debugSession() {
+        AuthenticatedUser current = AuthSessionManager.current().orElse(null);
         return ResponseEntity.ok(java.util.Map.of(
-            "loggedUser", loggedUser != null ? loggedUser : "null",
-            "userId", userId != null ? userId : "null",
-            "roles", roles != null ? roles.toString() : "null",
-            "isAdmin", isAdmin(session)
+            "loggedUser", current != null ? current.getUsername() : "null",
+            "userId", current != null ? current.getId() : "null",
+            "roles", current != null ? Integer.toBinaryString(current.getRoleBits()) : "null",
+            "isAdmin", current != null && current.isAdmin()
         ));
     }
 
+    // ?fields=id,name reads and returns only those columns
     @GetMapping
-    public ResponseEntity<List<Trainer>> getAllTrainers() {
-        return ResponseEntity.ok(trainerService.getAllTrainers());
+    public ResponseEntity<?> getAllTrainers(HttpServletRequest request, @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return catalogCache.respond(CatalogCache.Catalog.TRAINERS, request, trainerService::getAllTrainers);
+        }
+        try {
+            FieldSet fieldSet = FieldSet.parse(fields, TrainerServiceImpl.SELECTABLE_FIELDS);
+            return ResponseEntity.ok(trainerService.getAllTrainers(fieldSet));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Ranked search over name, specialization and description; tolerates prefixes and small typos
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTrainers(@RequestParam(required = false) String q,
+                                            @RequestParam(required = false) Integer minExperience,
+                                            @RequestParam(required = false) Integer maxExperience,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", "limit must be between 1 and 100"));
+        }
+        return ResponseEntity.ok(trainerService.searchTrainers(q, minExperience, maxExperience, limit));
     }
 
     @GetMapping("/{id}")
@@ -99,35 +86,25 @@ public class TrainerController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateTrainer(@PathVariable Long id, @RequestBody Trainer trainer, HttpSession session) {
+    public ResponseEntity<?> updateTrainer(@PathVariable Long id, @RequestBody Trainer trainer) {
         try {
-            if (!isAdmin(session)) {
-                return ResponseEntity.status(403).body(java.util.Map.of("error", "Admin access required"));
-            }
-            System.out.println("📝 Updating trainer ID: " + id);
             Trainer updated = trainerService.updateTrainer(id, trainer);
-            System.out.println("✅ Trainer updated successfully");
+            log.atInfo().addKeyValue("trainerId", id).log("Trainer updated");
             return ResponseEntity.ok(updated);
         } catch (Exception e) {
-            System.err.println("❌ Error updating trainer: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating trainer", e);
             return ResponseEntity.status(500).body(java.util.Map.of("error", e.getMessage()));
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteTrainer(@PathVariable Long id, HttpSession session) {
+    public ResponseEntity<?> deleteTrainer(@PathVariable Long id) {
         try {
-            if (!isAdmin(session)) {
-                return ResponseEntity.status(403).body(java.util.Map.of("error", "Admin access required"));
-            }
-            System.out.println("🗑️ Deleting trainer ID: " + id);
             trainerService.deleteTrainer(id);
-            System.out.println("✅ Trainer deleted successfully");
+            log.atInfo().addKeyValue("trainerId", id).log("Trainer deleted");
             return ResponseEntity.ok(java.util.Map.of("message", "Trainer deleted successfully"));
         } catch (Exception e) {
-            System.err.println("❌ Error deleting trainer: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error deleting trainer", e);
             return ResponseEntity.status(500).body(java.util.Map.of("error", e.getMessage()));
         }
     }
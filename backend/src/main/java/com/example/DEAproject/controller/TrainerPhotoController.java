@@ -0,0 +1,174 @@
+package com.example.DEAproject.controller;
+
+import com.example.DEAproject.model.Trainer;
+import com.example.DEAproject.service.PhotoStorage;
+import com.example.DEAproject.service.ThumbnailService;
+import com.example.DEAproject.service.TrainerService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/trainers")
+public class TrainerPhotoController {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerPhotoController.class);
+
+    // Names are content hashes, so a URL never changes meaning
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    // Tomcat writes files at least this large with sendfile() when the connector supports it
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final TrainerService trainerService;
+    private final PhotoStorage photoStorage;
+    private final ThumbnailService thumbnails;
+
+    public TrainerPhotoController(TrainerService trainerService, PhotoStorage photoStorage,
+                                  ThumbnailService thumbnails) {
+        this.trainerService = trainerService;
+        this.photoStorage = photoStorage;
+        this.thumbnails = thumbnails;
+    }
+
+    // Thumbnail cache size and queue
+    @GetMapping("/photos/cache-stats")
+    public Map<String, Long> thumbnailStats() {
+        return thumbnails.stats();
+    }
+
+    // Upload a trainer photo (multipart field "file") - only admin
+    @PostMapping(value = "/{id}/photo", consumes = "multipart/form-data")
+    public ResponseEntity<?> uploadPhoto(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            String name = photoStorage.store(in);
+            Trainer updated = trainerService.updatePhoto(id, name);
+            thumbnails.generateAsync(name);
+            log.atInfo().addKeyValue("trainerId", id).addKeyValue("photo", updated.getPhotoPath()).log("Trainer photo stored");
+            return ResponseEntity.ok(updated);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error storing trainer photo", e);
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Serve a stored photo, or with ?w= a downscaled copy (width rounded up to 80/160/320/640);
+    // supports If-None-Match and single byte ranges
+    @GetMapping("/photos/{name}")
+    public void servePhoto(@PathVariable String name, @RequestParam(required = false) Integer w,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = w != null && w > 0 ? thumbnails.resolve(name, ThumbnailService.bucket(w)) : photoStorage.resolve(name);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // The served file name is itself content-derived (<hash> or <hash>-w<width>)
+        String served = file.getFileName().toString();
+        String etag = "\"" + served.substring(0, served.indexOf('.')) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] r = parseRange(range, length);
+            if (r != null && r.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (r != null) {
+                start = r[0];
+                end = r[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentType(PhotoStorage.contentType(served));
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) return;
+
+        if (count >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The connector copies file -> socket in the kernel after this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) return true;
+        }
+        return false;
+    }
+
+    // {start, end} inclusive, an empty array when unsatisfiable, null to ignore the header
+    // (bad syntax or several ranges: the whole file is sent, which RFC 9110 allows)
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return null;
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return null;
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) return new long[0];
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+            if (start >= length) return new long[0];
+            if (end < start) return null;
+            return new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,46 +1,79 @@
 package com.example.DEAproject.controller;
 
+import com.example.DEAproject.dto.FieldSet;
 import com.example.DEAproject.dto.UserDTO;
-import com.example.DEAproject.model.Role;
 import com.example.DEAproject.model.User;
+import com.example.DEAproject.security.AuthSessionManager;
+import com.example.DEAproject.security.AuthenticatedUser;
+import com.example.DEAproject.security.HashingRejectedException;
+import com.example.DEAproject.service.DuplicateUserException;
+import com.example.DEAproject.service.ExportService;
+import com.example.DEAproject.service.UserImportService;
 import com.example.DEAproject.service.UserService;
-import jakarta.servlet.http.HttpSession;
+import com.example.DEAproject.service.UserServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserService userService;
+    private final ExportService exportService;
+    private final AuthSessionManager authSession;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ExportService exportService, AuthSessionManager authSession,
+                          UserImportService userImportService) {
         this.userService = userService;
+        this.exportService = exportService;
+        this.authSession = authSession;
+        this.userImportService = userImportService;
     }
 
     // Sign up (public)
     @PostMapping("/register")
-    public ResponseEntity<User> registerUser(
+    public ResponseEntity<?> registerUser(
             @Valid @RequestBody UserDTO userDTO,
             @RequestParam(defaultValue = "CUSTOMER") String role
     ) {
-        User savedUser = userService.registerUser(userDTO, role);
-        return ResponseEntity.ok(savedUser);
+        try {
+            User savedUser = userService.registerUser(userDTO, role);
+            return ResponseEntity.ok(savedUser);
+        } catch (DuplicateUserException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage(), "field", e.getField()));
+        }
     }
 
     // Login
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody UserDTO userDTO, HttpSession session) {
-        Optional<User> user = userService.loginUser(userDTO.getUsername(), userDTO.getPassword());
+    public ResponseEntity<String> login(@RequestBody UserDTO userDTO,
+                                        HttpServletRequest request, HttpServletResponse response) {
+        Optional<User> user;
+        try {
+            user = userService.loginUser(userDTO.getUsername(), userDTO.getPassword());
+        } catch (HashingRejectedException e) {
+            return ResponseEntity.status(429).header("Retry-After", "1").body(e.getMessage());
+        }
 
         if (user.isPresent()) {
-            session.setAttribute("loggedUser", user.get().getUsername());
-            session.setAttribute("roles", user.get().getRoles());
+            String token = authSession.signIn(user.get(), request, response);
+            if (token != null) return ResponseEntity.ok(token);
             return ResponseEntity.ok("Login successful, session created!");
         } else {
             return ResponseEntity.status(401).body("Invalid username or password");
@@ -49,10 +82,10 @@ public class UserController {
 
     // Check session
     @GetMapping("/session")
-    public ResponseEntity<String> checkSession(HttpSession session) {
-        String loggedUser = (String) session.getAttribute("loggedUser");
-        if (loggedUser != null) {
-            return ResponseEntity.ok("Current session user: " + loggedUser);
+    public ResponseEntity<String> checkSession() {
+        Optional<AuthenticatedUser> current = AuthSessionManager.current();
+        if (current.isPresent()) {
+            return ResponseEntity.ok("Current session user: " + current.get().getUsername());
         } else {
             return ResponseEntity.status(401).body("No active session!");
         }
@@ -60,25 +93,83 @@ public class UserController {
 
     // Logout
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpSession session) {
-        session.invalidate();
+    public ResponseEntity<String> logout(HttpServletRequest request) {
+        authSession.signOut(request);
         return ResponseEntity.ok("Logged out successfully, session destroyed!");
     }
 
     // Admin-only: Get all users
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers(HttpSession session) {
-        if (!isAdmin(session)) return ResponseEntity.status(403).build();
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(userService.getAllUsers());
+        }
+        try {
+            // e.g. ?fields=username,email reads just those columns
+            return ResponseEntity.ok(userService.getAllUsers(FieldSet.parse(fields, UserServiceImpl.SELECTABLE_FIELDS)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Admin-only: paged user directory with username/email prefix search
+    // sort: username (default), email or id, prefix with - for descending; pass nextCursor back for the next page
+    @GetMapping("/directory")
+    public ResponseEntity<?> getUserDirectory(@RequestParam(required = false) String q,
+                                              @RequestParam(required = false) String role,
+                                              @RequestParam(defaultValue = "username") String sort,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(userService.getDirectory(q, role, sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Admin-only: Stream all users as NDJSON or CSV
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format fmt;
+        try {
+            fmt = ExportService.parseFormat(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exportService.error(e.getMessage()));
+        }
+        StreamingResponseBody body = out -> exportService.exportUsers(fmt, out);
+        return ResponseEntity.ok()
+                .contentType(fmt == ExportService.Format.CSV ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + fmt.name().toLowerCase())
+                .body(body);
+    }
+
+    // Admin-only: Bulk import from a JSON array
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importUsers(@RequestBody List<UserDTO> users,
+                                         @RequestParam(defaultValue = "USER") String role) {
+        try {
+            return ResponseEntity.ok(userImportService.importUsers(users, role));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Admin-only: Bulk import from an uploaded CSV (header: username,email,password[,phone])
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importUsersCsv(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(defaultValue = "USER") String role) {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(userImportService.importUsers(UserImportService.parseCsv(reader), role));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", "Could not read upload"));
+        }
     }
 
     // Admin-only: Delete user
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteUser(@PathVariable Long id, HttpSession session) {
-        if (!isAdmin(session)) {
-            return ResponseEntity.status(403).body(java.util.Map.of("error", "Admin access required"));
-        }
-        
+    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         try {
             userService.deleteUser(id);
             return ResponseEntity.ok(java.util.Map.of("message", "User deleted successfully"));
@@ -86,11 +177,4 @@ public class UserController {
             return ResponseEntity.status(404).body(java.util.Map.of("error", "User not found"));
         }
     }
-
-    // Helper: check if session user is admin
-    private boolean isAdmin(HttpSession session) {
-        Set<Role> roles = (Set<Role>) session.getAttribute("roles");
-        if (roles == null) return false;
-        return roles.stream().anyMatch(role -> "ADMIN".equals(role.getName()));
-    }
 }
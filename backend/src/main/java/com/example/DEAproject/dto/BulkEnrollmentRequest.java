@@ -0,0 +1,20 @@
+package com.example.DEAproject.dto;
+
+import java.util.List;
+
+public class BulkEnrollmentRequest {
+    private List<Long> userIds;
+    private Long membershipId;
+    private Long planId; // optional
+
+    public BulkEnrollmentRequest() {}
+
+    public List<Long> getUserIds() { return userIds; }
+    public void setUserIds(List<Long> userIds) { this.userIds = userIds; }
+
+    public Long getMembershipId() { return membershipId; }
+    public void setMembershipId(Long membershipId) { this.membershipId = membershipId; }
+
+    public Long getPlanId() { return planId; }
+    public void setPlanId(Long planId) { this.planId = planId; }
+}
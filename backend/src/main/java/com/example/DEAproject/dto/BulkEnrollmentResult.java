@@ -0,0 +1,23 @@
+package com.example.DEAproject.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class BulkEnrollmentResult {
+    private final int enrolled;
+    private final List<Long> missingUserIds;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public BulkEnrollmentResult(int enrolled, List<Long> missingUserIds, LocalDate startDate, LocalDate endDate) {
+        this.enrolled = enrolled;
+        this.missingUserIds = missingUserIds;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public int getEnrolled() { return enrolled; }
+    public List<Long> getMissingUserIds() { return missingUserIds; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+}
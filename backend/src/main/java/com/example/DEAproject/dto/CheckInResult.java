@@ -0,0 +1,22 @@
+package com.example.DEAproject.dto;
+
+import java.time.LocalDate;
+
+public class CheckInResult {
+    private final Long userId;
+    private final boolean allowed;
+    private final LocalDate validUntil; // null when the user has no subscription on record
+    private final long occupancy;
+
+    public CheckInResult(Long userId, boolean allowed, LocalDate validUntil, long occupancy) {
+        this.userId = userId;
+        this.allowed = allowed;
+        this.validUntil = validUntil;
+        this.occupancy = occupancy;
+    }
+
+    public Long getUserId() { return userId; }
+    public boolean isAllowed() { return allowed; }
+    public LocalDate getValidUntil() { return validUntil; }
+    public long getOccupancy() { return occupancy; }
+}
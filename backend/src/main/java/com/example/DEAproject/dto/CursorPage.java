@@ -0,0 +1,17 @@
+package com.example.DEAproject.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor; // null when there are no more rows
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return nextCursor != null; }
+}
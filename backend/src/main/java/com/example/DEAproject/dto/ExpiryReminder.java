@@ -0,0 +1,32 @@
+package com.example.DEAproject.dto;
+
+import java.time.LocalDate;
+
+public class ExpiryReminder {
+
+    public enum Kind { EXPIRES_IN_7_DAYS, EXPIRES_IN_1_DAY, EXPIRED }
+
+    private final Long subscriptionId;
+    private final Long userId;
+    private final LocalDate endDate;
+    private final Kind kind;
+    private final int attempts;
+
+    public ExpiryReminder(Long subscriptionId, Long userId, LocalDate endDate, Kind kind, int attempts) {
+        this.subscriptionId = subscriptionId;
+        this.userId = userId;
+        this.endDate = endDate;
+        this.kind = kind;
+        this.attempts = attempts;
+    }
+
+    public ExpiryReminder retry() {
+        return new ExpiryReminder(subscriptionId, userId, endDate, kind, attempts + 1);
+    }
+
+    public Long getSubscriptionId() { return subscriptionId; }
+    public Long getUserId() { return userId; }
+    public LocalDate getEndDate() { return endDate; }
+    public Kind getKind() { return kind; }
+    public int getAttempts() { return attempts; }
+}
@@ -0,0 +1,38 @@
+package com.example.DEAproject.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed ?fields=a,b,c for list endpoints. Names are checked against the
+ * endpoint's whitelist; id is always included so clients can key the rows.
+ */
+public final class FieldSet {
+
+    private final List<String> names;
+
+    private FieldSet(List<String> names) {
+        this.names = Collections.unmodifiableList(names);
+    }
+
+    public static FieldSet parse(String fields, Set<String> allowed) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', allowed: " + allowed);
+            }
+            names.add(name);
+        }
+        return new FieldSet(new ArrayList<>(names));
+    }
+
+    public List<String> getNames() { return names; }
+
+    public boolean contains(String name) { return names.contains(name); }
+}
@@ -0,0 +1,16 @@
+package com.example.DEAproject.dto;
+
+import java.time.LocalDate;
+
+public class MembershipValidity {
+    private final Long userId;
+    private final LocalDate endDate;
+
+    public MembershipValidity(Long userId, LocalDate endDate) {
+        this.userId = userId;
+        this.endDate = endDate;
+    }
+
+    public Long getUserId() { return userId; }
+    public LocalDate getEndDate() { return endDate; }
+}
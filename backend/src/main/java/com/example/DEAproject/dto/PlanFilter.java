@@ -0,0 +1,39 @@
+package com.example.DEAproject.dto;
+
+public class PlanFilter {
+
+    private String difficulty;
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer durationMonths;
+    private Long trainerId;
+
+    public PlanFilter() {}
+
+    public PlanFilter(String difficulty, Double minPrice, Double maxPrice, Integer durationMonths, Long trainerId) {
+        this.difficulty = difficulty;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.durationMonths = durationMonths;
+        this.trainerId = trainerId;
+    }
+
+    public boolean isEmpty() {
+        return difficulty == null && minPrice == null && maxPrice == null && durationMonths == null && trainerId == null;
+    }
+
+    public String getDifficulty() { return difficulty; }
+    public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+
+    public Integer getDurationMonths() { return durationMonths; }
+    public void setDurationMonths(Integer durationMonths) { this.durationMonths = durationMonths; }
+
+    public Long getTrainerId() { return trainerId; }
+    public void setTrainerId(Long trainerId) { this.trainerId = trainerId; }
+}
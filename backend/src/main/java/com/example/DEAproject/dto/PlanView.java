@@ -0,0 +1,42 @@
+package com.example.DEAproject.dto;
+
+/**
+ * A training plan with its trainer embedded. Keeps every Plan field
+ * (including trainerId) so existing clients read it like a Plan.
+ */
+public class PlanView {
+    private final Long id;
+    private final String name;
+    private final Double price;
+    private final Integer durationMonths;
+    private final String description;
+    private final String duration;
+    private final String difficulty;
+    private final Long trainerId;
+    private final TrainerSummary trainer; // null when unassigned or the trainer was removed
+
+    // Flat constructor for JPQL/Criteria constructor expressions
+    public PlanView(Long id, String name, Double price, Integer durationMonths, String description,
+                    String duration, String difficulty, Long trainerId,
+                    Long tId, String tName, String tSpecialization, Integer tExperience, String tPhotoPath) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.durationMonths = durationMonths;
+        this.description = description;
+        this.duration = duration;
+        this.difficulty = difficulty;
+        this.trainerId = trainerId;
+        this.trainer = tId != null ? new TrainerSummary(tId, tName, tSpecialization, tExperience, tPhotoPath) : null;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public Double getPrice() { return price; }
+    public Integer getDurationMonths() { return durationMonths; }
+    public String getDescription() { return description; }
+    public String getDuration() { return duration; }
+    public String getDifficulty() { return difficulty; }
+    public Long getTrainerId() { return trainerId; }
+    public TrainerSummary getTrainer() { return trainer; }
+}
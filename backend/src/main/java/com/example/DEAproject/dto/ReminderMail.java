@@ -0,0 +1,17 @@
+package com.example.DEAproject.dto;
+
+public class ReminderMail {
+    private final String to;
+    private final String subject;
+    private final String body;
+
+    public ReminderMail(String to, String subject, String body) {
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public String getTo() { return to; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+}
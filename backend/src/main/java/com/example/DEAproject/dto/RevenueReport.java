@@ -0,0 +1,67 @@
+package com.example.DEAproject.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class RevenueReport {
+
+    public static class DayBucket {
+        private final LocalDate day;
+        private final long subscriptions;
+        private final double revenue;
+
+        public DayBucket(LocalDate day, long subscriptions, double revenue) {
+            this.day = day;
+            this.subscriptions = subscriptions;
+            this.revenue = revenue;
+        }
+
+        public LocalDate getDay() { return day; }
+        public long getSubscriptions() { return subscriptions; }
+        public double getRevenue() { return revenue; }
+    }
+
+    // Revenue here is only the share paid for that membership / training plan
+    public static class PlanBucket {
+        private final Long id;
+        private final long subscriptions;
+        private final double revenue;
+
+        public PlanBucket(Long id, long subscriptions, double revenue) {
+            this.id = id;
+            this.subscriptions = subscriptions;
+            this.revenue = revenue;
+        }
+
+        public Long getId() { return id; }
+        public long getSubscriptions() { return subscriptions; }
+        public double getRevenue() { return revenue; }
+    }
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long subscriptions;
+    private final double revenue;
+    private final List<DayBucket> byDay;
+    private final List<PlanBucket> byMembership;
+    private final List<PlanBucket> byPlan;
+
+    public RevenueReport(LocalDate from, LocalDate to, long subscriptions, double revenue,
+                         List<DayBucket> byDay, List<PlanBucket> byMembership, List<PlanBucket> byPlan) {
+        this.from = from;
+        this.to = to;
+        this.subscriptions = subscriptions;
+        this.revenue = revenue;
+        this.byDay = byDay;
+        this.byMembership = byMembership;
+        this.byPlan = byPlan;
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public long getSubscriptions() { return subscriptions; }
+    public double getRevenue() { return revenue; }
+    public List<DayBucket> getByDay() { return byDay; }
+    public List<PlanBucket> getByMembership() { return byMembership; }
+    public List<PlanBucket> getByPlan() { return byPlan; }
+}
@@ -0,0 +1,37 @@
+package com.example.DEAproject.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a subscription page, ordered by (endDate, id).
+ * Encoded as an opaque URL-safe token so clients never build it themselves.
+ */
+public class SubscriptionCursor {
+    private final LocalDate endDate;
+    private final Long id;
+
+    public SubscriptionCursor(LocalDate endDate, Long id) {
+        this.endDate = endDate;
+        this.id = id;
+    }
+
+    public LocalDate getEndDate() { return endDate; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = endDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SubscriptionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new SubscriptionCursor(LocalDate.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.DEAproject.dto;
+
+import java.time.LocalDate;
+
+public class SubscriptionExpiry {
+    private final Long subscriptionId;
+    private final Long userId;
+    private final LocalDate endDate;
+
+    public SubscriptionExpiry(Long subscriptionId, Long userId, LocalDate endDate) {
+        this.subscriptionId = subscriptionId;
+        this.userId = userId;
+        this.endDate = endDate;
+    }
+
+    public Long getSubscriptionId() { return subscriptionId; }
+    public Long getUserId() { return userId; }
+    public LocalDate getEndDate() { return endDate; }
+}
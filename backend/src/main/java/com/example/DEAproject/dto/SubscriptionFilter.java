@@ -0,0 +1,39 @@
+package com.example.DEAproject.dto;
+
+import java.time.LocalDate;
+
+public class SubscriptionFilter {
+
+    public enum Status { ACTIVE, EXPIRED }
+
+    private Long membershipId;
+    private Long planId;
+    private Status status;     // null = any
+    private LocalDate from;    // start date lower bound (inclusive)
+    private LocalDate to;      // start date upper bound (inclusive)
+
+    public SubscriptionFilter() {}
+
+    public SubscriptionFilter(Long membershipId, Long planId, Status status, LocalDate from, LocalDate to) {
+        this.membershipId = membershipId;
+        this.planId = planId;
+        this.status = status;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getMembershipId() { return membershipId; }
+    public void setMembershipId(Long membershipId) { this.membershipId = membershipId; }
+
+    public Long getPlanId() { return planId; }
+    public void setPlanId(Long planId) { this.planId = planId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+}
@@ -0,0 +1,102 @@
+package com.example.DEAproject.dto;
+
+import com.example.DEAproject.model.Subscription;
+
+import java.time.LocalDate;
+
+/**
+ * Read model for subscription listings. Built by a single joined query
+ * (see SubscriptionRepository), keeps the nested JSON shape the admin
+ * screens already use but only carries the columns they show.
+ */
+public class SubscriptionView {
+
+    public static class UserSummary {
+        private final Long id;
+        private final String username;
+
+        public UserSummary(Long id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+
+        public Long getId() { return id; }
+        public String getUsername() { return username; }
+    }
+
+    public static class MembershipSummary {
+        private final Long id;
+        private final String name;
+        private final Double price;
+        private final Integer durationMonths;
+
+        public MembershipSummary(Long id, String name, Double price, Integer durationMonths) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.durationMonths = durationMonths;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public Double getPrice() { return price; }
+        public Integer getDurationMonths() { return durationMonths; }
+    }
+
+    public static class PlanSummary {
+        private final Long id;
+        private final String name;
+        private final Double price;
+
+        public PlanSummary(Long id, String name, Double price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public Double getPrice() { return price; }
+    }
+
+    private final Long id;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final UserSummary user;
+    private final MembershipSummary membershipPlan;
+    private final PlanSummary plan;
+
+    // Used by JPQL/Criteria constructor expressions, keep the argument order in sync
+    public SubscriptionView(Long id, LocalDate startDate, LocalDate endDate,
+                            Long userId, String username,
+                            Long membershipId, String membershipName, Double membershipPrice, Integer membershipDurationMonths,
+                            Long planId, String planName, Double planPrice) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.user = userId != null ? new UserSummary(userId, username) : null;
+        this.membershipPlan = membershipId != null
+                ? new MembershipSummary(membershipId, membershipName, membershipPrice, membershipDurationMonths) : null;
+        this.plan = planId != null ? new PlanSummary(planId, planName, planPrice) : null;
+    }
+
+    public static SubscriptionView from(Subscription s) {
+        return new SubscriptionView(s.getId(), s.getStartDate(), s.getEndDate(),
+                s.getUser() != null ? s.getUser().getId() : null,
+                s.getUser() != null ? s.getUser().getUsername() : null,
+                s.getMembershipPlan() != null ? s.getMembershipPlan().getId() : null,
+                s.getMembershipPlan() != null ? s.getMembershipPlan().getName() : null,
+                s.getMembershipPlan() != null ? s.getMembershipPlan().getPrice() : null,
+                s.getMembershipPlan() != null ? s.getMembershipPlan().getDurationMonths() : null,
+                s.getPlan() != null ? s.getPlan().getId() : null,
+                s.getPlan() != null ? s.getPlan().getName() : null,
+                s.getPlan() != null ? s.getPlan().getPrice() : null);
+    }
+
+    public Long getId() { return id; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public UserSummary getUser() { return user; }
+    public MembershipSummary getMembershipPlan() { return membershipPlan; }
+    public PlanSummary getPlan() { return plan; }
+}
@@ -0,0 +1,14 @@
+package com.example.DEAproject.dto;
+
+public class TrainerSearchHit {
+    private final TrainerSummary trainer;
+    private final double score;
+
+    public TrainerSearchHit(TrainerSummary trainer, double score) {
+        this.trainer = trainer;
+        this.score = score;
+    }
+
+    public TrainerSummary getTrainer() { return trainer; }
+    public double getScore() { return score; }
+}
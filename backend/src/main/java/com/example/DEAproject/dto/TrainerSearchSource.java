@@ -0,0 +1,11 @@
+package com.example.DEAproject.dto;
+
+// Closed projection: the indexed columns, without the base64 photo
+public interface TrainerSearchSource {
+    Long getId();
+    String getName();
+    String getSpecialization();
+    String getDescription();
+    Integer getExperience();
+    String getPhotoPath();
+}
@@ -0,0 +1,26 @@
+package com.example.DEAproject.dto;
+
+import com.example.DEAproject.model.Trainer;
+
+// Trainer without the long description and the base64 photo
+public class TrainerSummary {
+    private final Long id;
+    private final String name;
+    private final String specialization;
+    private final Integer experience;
+    private final String photoUrl;
+
+    public TrainerSummary(Long id, String name, String specialization, Integer experience, String photoPath) {
+        this.id = id;
+        this.name = name;
+        this.specialization = specialization;
+        this.experience = experience;
+        this.photoUrl = Trainer.photoUrl(photoPath);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getSpecialization() { return specialization; }
+    public Integer getExperience() { return experience; }
+    public String getPhotoUrl() { return photoUrl; }
+}
@@ -0,0 +1,8 @@
+package com.example.DEAproject.dto;
+
+// Closed projection: only these columns are selected
+public interface UserContact {
+    Long getId();
+    String getUsername();
+    String getEmail();
+}
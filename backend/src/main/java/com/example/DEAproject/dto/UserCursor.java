@@ -0,0 +1,36 @@
+package com.example.DEAproject.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a user directory page, ordered by (sort key, id).
+ * The sort key is the username or email of that row (empty when sorting by id).
+ */
+public class UserCursor {
+    private final String key;
+    private final Long id;
+
+    public UserCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public String getKey() { return key; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|'); // keys may contain '|', ids cannot
+            return new UserCursor(raw.substring(0, sep), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
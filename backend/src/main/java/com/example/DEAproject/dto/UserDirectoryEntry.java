@@ -0,0 +1,27 @@
+package com.example.DEAproject.dto;
+
+import java.util.List;
+
+// Row of the admin user directory: no password hash, roles as plain names
+public class UserDirectoryEntry {
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String phone;
+    private List<String> roles = List.of();
+
+    public UserDirectoryEntry(Long id, String username, String email, String phone) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+
+    public List<String> getRoles() { return roles; }
+    public void setRoles(List<String> roles) { this.roles = roles; }
+}
@@ -0,0 +1,47 @@
+package com.example.DEAproject.dto;
+
+import java.util.List;
+
+public class UserImportResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID, ERROR }
+
+    public static class Row {
+        private final int row;          // 1-based position in the upload
+        private final String username;
+        private final Status status;
+        private final String message;
+
+        public Row(int row, String username, Status status, String message) {
+            this.row = row;
+            this.username = username;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public String getUsername() { return username; }
+        public Status getStatus() { return status; }
+        public String getMessage() { return message; }
+    }
+
+    private final int total;
+    private final int created;
+    private final int failed;
+    private final long elapsedMillis;
+    private final List<Row> rows;
+
+    public UserImportResult(int total, int created, long elapsedMillis, List<Row> rows) {
+        this.total = total;
+        this.created = created;
+        this.failed = total - created;
+        this.elapsedMillis = elapsedMillis;
+        this.rows = rows;
+    }
+
+    public int getTotal() { return total; }
+    public int getCreated() { return created; }
+    public int getFailed() { return failed; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public List<Row> getRows() { return rows; }
+}
@@ -0,0 +1,47 @@
+package com.example.DEAproject.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "attendance", indexes = {
+        @Index(name = "idx_attendance_user_time", columnList = "user_id, occurred_at")
+})
+public class Attendance {
+
+    public enum Direction { IN, OUT }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_id")
+    @SequenceGenerator(name = "attendance_id", sequenceName = "attendance_seq", allocationSize = 50)
+    private Long id;
+
+    // Plain column rather than an association: rows are write-once and inserted in batches
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 3, nullable = false)
+    private Direction direction;
+
+    private boolean granted;
+
+    public Attendance() {}
+
+    public Attendance(Long userId, Instant occurredAt, Direction direction, boolean granted) {
+        this.userId = userId;
+        this.occurredAt = occurredAt;
+        this.direction = direction;
+        this.granted = granted;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public Instant getOccurredAt() { return occurredAt; }
+    public Direction getDirection() { return direction; }
+    public boolean isGranted() { return granted; }
+}
@@ -0,0 +1,37 @@
+package com.example.DEAproject.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+/**
+ * Marks an expiry reminder as mailed, so a restart on the same day does not
+ * send it again. Written by SubscriptionExpiryScheduler, pruned after a week.
+ */
+@Entity
+@Table(name = "expiry_reminder_sent")
+public class ExpiryReminderSent implements Persistable<ExpiryReminderSentKey> {
+
+    @EmbeddedId
+    private ExpiryReminderSentKey id;
+
+    @Column(name = "sent_on", nullable = false)
+    private LocalDate sentOn;
+
+    public ExpiryReminderSent() {}
+
+    public ExpiryReminderSent(ExpiryReminderSentKey id, LocalDate sentOn) {
+        this.id = id;
+        this.sentOn = sentOn;
+    }
+
+    // Getters
+    @Override
+    public ExpiryReminderSentKey getId() { return id; }
+    public LocalDate getSentOn() { return sentOn; }
+
+    // Only ever inserted: lets saveAll persist in batches without a select per row
+    @Override
+    public boolean isNew() { return true; }
+}
@@ -0,0 +1,42 @@
+package com.example.DEAproject.model;
+
+import com.example.DEAproject.dto.ExpiryReminder;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class ExpiryReminderSentKey implements Serializable {
+
+    @Column(name = "subscription_id")
+    private Long subscriptionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ExpiryReminder.Kind kind;
+
+    public ExpiryReminderSentKey() {}
+
+    public ExpiryReminderSentKey(Long subscriptionId, ExpiryReminder.Kind kind) {
+        this.subscriptionId = subscriptionId;
+        this.kind = kind;
+    }
+
+    public Long getSubscriptionId() { return subscriptionId; }
+    public ExpiryReminder.Kind getKind() { return kind; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExpiryReminderSentKey that)) return false;
+        return Objects.equals(subscriptionId, that.subscriptionId) && kind == that.kind;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subscriptionId, kind);
+    }
+}
@@ -13,7 +13,8 @@ import lombok.*;
 public class MembershipPlan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "membership_plans_id")
+    @SequenceGenerator(name = "membership_plans_id", sequenceName = "membership_plans_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
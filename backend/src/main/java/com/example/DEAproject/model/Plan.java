@@ -3,11 +3,17 @@ package com.example.DEAproject.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "plans")
+@Table(name = "plans", indexes = {
+        @Index(name = "idx_plans_difficulty_price", columnList = "difficulty, price"),
+        @Index(name = "idx_plans_price", columnList = "price"),
+        @Index(name = "idx_plans_duration_months", columnList = "duration_months"),
+        @Index(name = "idx_plans_trainer_id", columnList = "trainer_id")
+})
 public class Plan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plans_id")
+    @SequenceGenerator(name = "plans_id", sequenceName = "plans_seq", allocationSize = 50)
     private Long id;
 
     private String name;
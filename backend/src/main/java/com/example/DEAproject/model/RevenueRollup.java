@@ -0,0 +1,29 @@
+package com.example.DEAproject.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Pre-aggregated sales: one row per sale day x membership x training plan.
+ * Maintained by RevenueRollupService, never edited through JPA.
+ */
+@Entity
+@Table(name = "revenue_rollup")
+public class RevenueRollup {
+
+    @EmbeddedId
+    private RevenueRollupKey id;
+
+    private long subscriptions;
+
+    @Column(name = "membership_revenue")
+    private double membershipRevenue;
+
+    @Column(name = "plan_revenue")
+    private double planRevenue;
+
+    // Getters
+    public RevenueRollupKey getId() { return id; }
+    public long getSubscriptions() { return subscriptions; }
+    public double getMembershipRevenue() { return membershipRevenue; }
+    public double getPlanRevenue() { return planRevenue; }
+}
@@ -0,0 +1,47 @@
+package com.example.DEAproject.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class RevenueRollupKey implements Serializable {
+
+    public static final long NO_PLAN = 0L; // subscriptions without a training plan
+
+    @Column(name = "sale_day")
+    private LocalDate day;
+
+    @Column(name = "membership_id")
+    private Long membershipId;
+
+    @Column(name = "plan_id")
+    private Long planId;
+
+    public RevenueRollupKey() {}
+
+    public RevenueRollupKey(LocalDate day, Long membershipId, Long planId) {
+        this.day = day;
+        this.membershipId = membershipId;
+        this.planId = planId != null ? planId : NO_PLAN;
+    }
+
+    public LocalDate getDay() { return day; }
+    public Long getMembershipId() { return membershipId; }
+    public Long getPlanId() { return planId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RevenueRollupKey that)) return false;
+        return Objects.equals(day, that.day) && Objects.equals(membershipId, that.membershipId)
+                && Objects.equals(planId, that.planId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, membershipId, planId);
+    }
+}
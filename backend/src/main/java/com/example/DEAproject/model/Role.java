@@ -13,7 +13,8 @@ import lombok.*;
 @Builder
 public class Role {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_id")
+    @SequenceGenerator(name = "roles_id", sequenceName = "roles_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -4,21 +4,25 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@Table(name = "subscription", indexes = {
+        @Index(name = "idx_subscription_end_date_id", columnList = "end_date, id")
+})
 public class Subscription {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscription_id")
+    @SequenceGenerator(name = "subscription_id", sequenceName = "subscription_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false) // Membership is mandatory
+    @ManyToOne(optional = false, fetch = FetchType.LAZY) // Membership is mandatory
     @JoinColumn(name = "membership_id")
     private MembershipPlan membershipPlan;
 
-    @ManyToOne(optional = true) // Training plan optional
+    @ManyToOne(optional = true, fetch = FetchType.LAZY) // Training plan optional
     @JoinColumn(name = "training_plan_id")
     private Plan plan;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
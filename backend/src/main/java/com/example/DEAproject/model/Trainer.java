@@ -1,6 +1,8 @@
 
 package com.example.DEAproject.model;
 
+import com.example.DEAproject.service.PhotoStorage;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,7 +15,8 @@ import lombok.*;
 @Builder
 public class Trainer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trainers_id")
+    @SequenceGenerator(name = "trainers_id", sequenceName = "trainers_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -29,8 +32,27 @@ public class Trainer {
     
     private Integer experience;
 
+    // Stored file name, see PhotoStorage. Only set by the server (photo upload or
+    // inline photo migration), never taken from a request body.
     @Column(name = "photo_path")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String photoPath;
-    
-    private String photo; // For base64 or URL
+
+    // Legacy inline photo (base64 data URL or external URL). Accepted on input and
+    // moved into PhotoStorage by TrainerServiceImpl; never sent back to clients.
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String photo;
+
+    public static final String PHOTO_URL_PREFIX = "/api/trainers/photos/";
+
+    @JsonProperty(value = "photoUrl", access = JsonProperty.Access.READ_ONLY)
+    public String getPhotoUrl() {
+        if (photoPath != null) return photoUrl(photoPath);
+        return photo != null && photo.startsWith("http") ? photo : null;
+    }
+
+    public static String photoUrl(String photoPath) {
+        // Anything PhotoStorage would not serve (e.g. paths from before it existed) has no URL
+        return PhotoStorage.isStoredName(photoPath) ? PHOTO_URL_PREFIX + photoPath : null;
+    }
 }
\ No newline at end of file
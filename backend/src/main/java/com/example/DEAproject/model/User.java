@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -18,7 +19,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id")
+    @SequenceGenerator(name = "users_id", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
@@ -36,6 +38,7 @@ public class User {
     private String phone;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @BatchSize(size = 100) // roles for a list of users load in batches, not one select per user
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,9 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.model.Attendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+}
@@ -0,0 +1,26 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.model.ExpiryReminderSent;
+import com.example.DEAproject.model.ExpiryReminderSentKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExpiryReminderSentRepository extends JpaRepository<ExpiryReminderSent, ExpiryReminderSentKey> {
+
+    @Query("select r.id from ExpiryReminderSent r where r.id.subscriptionId in :subscriptionIds")
+    List<ExpiryReminderSentKey> findSent(@Param("subscriptionIds") Collection<Long> subscriptionIds);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ExpiryReminderSent r where r.sentOn < :before")
+    int deleteSentBefore(@Param("before") LocalDate before);
+}
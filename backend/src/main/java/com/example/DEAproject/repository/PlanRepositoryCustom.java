@@ -0,0 +1,13 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.PlanView;
+import com.example.DEAproject.model.Plan;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface PlanRepositoryCustom {
+    // Plans left-joined with their trainer in one select; sort properties are Plan fields
+    List<PlanView> findViews(Specification<Plan> spec, Sort sort);
+}
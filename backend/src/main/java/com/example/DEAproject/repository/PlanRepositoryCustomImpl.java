@@ -0,0 +1,52 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.PlanView;
+import com.example.DEAproject.model.Plan;
+import com.example.DEAproject.model.Trainer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlanRepositoryCustomImpl implements PlanRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PlanView> findViews(Specification<Plan> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PlanView> query = cb.createQuery(PlanView.class);
+        JpaRoot<Plan> p = (JpaRoot<Plan>) query.from(Plan.class);
+        // Plan.trainerId is a plain column, so this is an entity join rather than an association join
+        JpaEntityJoin<Trainer> t = p.join(Trainer.class, SqmJoinType.LEFT);
+        t.on(cb.equal(t.get("id"), p.get("trainerId")));
+
+        query.select(cb.construct(PlanView.class,
+                p.get("id"), p.get("name"), p.get("price"), p.get("durationMonths"), p.get("description"),
+                p.get("duration"), p.get("difficulty"), p.get("trainerId"),
+                t.get("id"), t.get("name"), t.get("specialization"), t.get("experience"), t.get("photoPath")));
+
+        Predicate where = spec != null ? spec.toPredicate(p, query, cb) : null;
+        if (where != null) query.where(where);
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order o : sort) {
+            orders.add(o.isAscending() ? cb.asc(p.get(o.getProperty())) : cb.desc(p.get(o.getProperty())));
+        }
+        orders.add(cb.asc(p.get("id"))); // stable order for equal sort keys
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
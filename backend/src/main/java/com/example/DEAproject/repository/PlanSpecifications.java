@@ -0,0 +1,38 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.PlanFilter;
+import com.example.DEAproject.model.Plan;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PlanSpecifications {
+
+    private PlanSpecifications() {}
+
+    // Plain comparisons on indexed columns (see the indexes on Plan)
+    public static Specification<Plan> matching(PlanFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getDifficulty() != null) {
+                predicates.add(cb.equal(root.get("difficulty"), filter.getDifficulty()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getDurationMonths() != null) {
+                predicates.add(cb.equal(root.get("durationMonths"), filter.getDurationMonths()));
+            }
+            if (filter.getTrainerId() != null) {
+                predicates.add(cb.equal(root.get("trainerId"), filter.getTrainerId()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
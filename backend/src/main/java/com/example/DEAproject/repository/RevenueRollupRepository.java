@@ -0,0 +1,18 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.model.RevenueRollup;
+import com.example.DEAproject.model.RevenueRollupKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollupKey> {
+
+    @Query("select r from RevenueRollup r where r.id.day between :from and :to order by r.id.day")
+    List<RevenueRollup> findByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
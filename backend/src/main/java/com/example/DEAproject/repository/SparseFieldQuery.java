@@ -0,0 +1,66 @@
+package com.example.DEAproject.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects only the given basic attributes of an entity as rows of
+ * attribute -> value, so the SQL reads just those columns and nothing is
+ * loaded into the persistence context. Callers whitelist the attribute names.
+ */
+@Repository
+public class SparseFieldQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> List<Map<String, Object>> select(Class<T> entity, List<String> attributes,
+                                                Specification<T> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+
+        Predicate where = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (where != null) query.where(where);
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order o : sort) {
+            orders.add(o.isAscending() ? cb.asc(root.get(o.getProperty())) : cb.desc(root.get(o.getProperty())));
+        }
+        orders.add(cb.asc(root.get("id")));
+        query.orderBy(orders);
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
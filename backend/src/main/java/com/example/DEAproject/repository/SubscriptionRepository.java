@@ -1,9 +1,52 @@
 package com.example.DEAproject.repository;
 
+import com.example.DEAproject.dto.MembershipValidity;
+import com.example.DEAproject.dto.SubscriptionExpiry;
+import com.example.DEAproject.dto.SubscriptionView;
 import com.example.DEAproject.model.Subscription;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface SubscriptionRepository extends JpaRepository<Subscription, Long>, JpaSpecificationExecutor<Subscription>,
+        SubscriptionRepositoryCustom {
     List<Subscription> findByUserId(Long userId);
+
+    String VIEW_SELECT = "select new com.example.DEAproject.dto.SubscriptionView("
+            + "s.id, s.startDate, s.endDate, u.id, u.username, "
+            + "m.id, m.name, m.price, m.durationMonths, p.id, p.name, p.price) "
+            + "from Subscription s join s.membershipPlan m left join s.plan p left join s.user u ";
+
+    @Query(VIEW_SELECT + "where u.id = :userId order by s.id")
+    List<SubscriptionView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query(VIEW_SELECT + "order by s.id")
+    List<SubscriptionView> findAllViews();
+
+    // Keyset page of subscriptions with (afterDate, afterId) < (endDate, id) and endDate <= until
+    @Query("select new com.example.DEAproject.dto.SubscriptionExpiry(s.id, s.user.id, s.endDate) from Subscription s "
+            + "where s.endDate <= :until and (s.endDate > :afterDate or (s.endDate = :afterDate and s.id > :afterId)) "
+            + "order by s.endDate, s.id")
+    List<SubscriptionExpiry> findExpiringBetween(@Param("afterDate") LocalDate afterDate, @Param("afterId") long afterId,
+                                                 @Param("until") LocalDate until, Pageable page);
+
+    // Latest end date per user among subscriptions still running on the given day
+    @Query("select new com.example.DEAproject.dto.MembershipValidity(s.user.id, max(s.endDate)) from Subscription s "
+            + "where s.endDate >= :today group by s.user.id")
+    List<MembershipValidity> findLatestEndDates(@Param("today") LocalDate today);
+
+    // Must be consumed inside a transaction; see ExportService
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(VIEW_SELECT + "order by s.id")
+    Stream<SubscriptionView> streamAllViews();
 }
@@ -0,0 +1,12 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.SubscriptionView;
+import com.example.DEAproject.model.Subscription;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface SubscriptionRepositoryCustom {
+    // Single joined select of SubscriptionView rows, ordered by (endDate, id)
+    List<SubscriptionView> findViews(Specification<Subscription> spec, int limit);
+}
@@ -0,0 +1,48 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.SubscriptionView;
+import com.example.DEAproject.model.MembershipPlan;
+import com.example.DEAproject.model.Plan;
+import com.example.DEAproject.model.Subscription;
+import com.example.DEAproject.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class SubscriptionRepositoryCustomImpl implements SubscriptionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SubscriptionView> findViews(Specification<Subscription> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SubscriptionView> query = cb.createQuery(SubscriptionView.class);
+        Root<Subscription> s = query.from(Subscription.class);
+        Join<Subscription, MembershipPlan> m = s.join("membershipPlan", JoinType.INNER);
+        Join<Subscription, Plan> p = s.join("plan", JoinType.LEFT);
+        Join<Subscription, User> u = s.join("user", JoinType.LEFT);
+
+        query.select(cb.construct(SubscriptionView.class,
+                s.get("id"), s.get("startDate"), s.get("endDate"),
+                u.get("id"), u.get("username"),
+                m.get("id"), m.get("name"), m.get("price"), m.get("durationMonths"),
+                p.get("id"), p.get("name"), p.get("price")));
+
+        Predicate where = spec != null ? spec.toPredicate(s, query, cb) : null;
+        if (where != null) query.where(where);
+        query.orderBy(cb.asc(s.get("endDate")), cb.asc(s.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.SubscriptionCursor;
+import com.example.DEAproject.dto.SubscriptionFilter;
+import com.example.DEAproject.model.Subscription;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SubscriptionSpecifications {
+
+    private SubscriptionSpecifications() {}
+
+    // Filters plus the keyset condition (endDate, id) > (cursor.endDate, cursor.id)
+    public static Specification<Subscription> matching(SubscriptionFilter filter, SubscriptionCursor after, LocalDate today) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getMembershipId() != null) {
+                predicates.add(cb.equal(root.get("membershipPlan").get("id"), filter.getMembershipId()));
+            }
+            if (filter.getPlanId() != null) {
+                predicates.add(cb.equal(root.get("plan").get("id"), filter.getPlanId()));
+            }
+            if (filter.getStatus() == SubscriptionFilter.Status.ACTIVE) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("endDate"), today));
+            } else if (filter.getStatus() == SubscriptionFilter.Status.EXPIRED) {
+                predicates.add(cb.lessThan(root.get("endDate"), today));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startDate"), filter.getTo()));
+            }
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.greaterThan(root.get("endDate"), after.getEndDate()),
+                        cb.and(
+                                cb.equal(root.get("endDate"), after.getEndDate()),
+                                cb.greaterThan(root.get("id"), after.getId()))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
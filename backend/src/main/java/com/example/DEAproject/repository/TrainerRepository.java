@@ -1,9 +1,16 @@
 package com.example.DEAproject.repository;
 
+import com.example.DEAproject.dto.TrainerSearchSource;
 import com.example.DEAproject.model.Trainer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
+
+    List<TrainerSearchSource> findAllProjectedBy();
+
+    List<Trainer> findByPhotoStartingWith(String prefix);
 }
@@ -1,12 +1,54 @@
 package com.example.DEAproject.repository;
 
 
+import com.example.DEAproject.dto.UserContact;
 import com.example.DEAproject.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+    boolean existsByUsername(String username);
+    boolean existsByEmail(String email);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<UserContact> findByIdIn(Collection<Long> ids);
+
+    // (userId, role name) pairs
+    @Query("select u.id, r.name from User u join u.roles r")
+    List<Object[]> findAllRoleNames();
+
+    @Query("select u.id, r.name from User u join u.roles r where u.id in :ids")
+    List<Object[]> findRoleNames(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // (id, username, email, phone) rows, no entities: roles are loaded per block with findRoleNames.
+    // Must be consumed inside a transaction; see ExportService
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select u.id, u.username, u.email, u.phone from User u order by u.id")
+    Stream<Object[]> streamAllForExport();
+
+    // Only the columns the availability filters need; consume inside a transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select u.id as id, u.username as username, u.email as email from User u")
+    Stream<UserContact> streamContacts();
 }
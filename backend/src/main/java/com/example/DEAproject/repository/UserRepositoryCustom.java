@@ -0,0 +1,12 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.UserCursor;
+import com.example.DEAproject.dto.UserDirectoryEntry;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    // One keyset page of lean rows ordered by (sortProperty, id); roles are not filled in
+    List<UserDirectoryEntry> findDirectory(String prefix, String role, String sortProperty, boolean descending,
+                                           UserCursor after, int limit);
+}
@@ -0,0 +1,73 @@
+package com.example.DEAproject.repository;
+
+import com.example.DEAproject.dto.UserCursor;
+import com.example.DEAproject.dto.UserDirectoryEntry;
+import com.example.DEAproject.model.Role;
+import com.example.DEAproject.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserDirectoryEntry> findDirectory(String prefix, String role, String sortProperty, boolean descending,
+                                                  UserCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserDirectoryEntry> query = cb.createQuery(UserDirectoryEntry.class);
+        Root<User> u = query.from(User.class);
+        query.select(cb.construct(UserDirectoryEntry.class,
+                u.get("id"), u.get("username"), u.get("email"), u.get("phone")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (prefix != null) {
+            // Left-anchored LIKE can use the unique indexes on username and email
+            String pattern = escapeLike(prefix) + "%";
+            predicates.add(cb.or(
+                    cb.like(u.get("username"), pattern, '\\'),
+                    cb.like(u.get("email"), pattern, '\\')));
+        }
+        if (role != null) {
+            Subquery<Long> withRole = query.subquery(Long.class);
+            Root<User> su = withRole.from(User.class);
+            Join<User, Role> r = su.join("roles");
+            withRole.select(su.get("id")).where(cb.equal(su.get("id"), u.get("id")), cb.equal(r.get("name"), role));
+            predicates.add(cb.exists(withRole));
+        }
+
+        Expression<Long> id = u.get("id");
+        if (sortProperty.equals("id")) {
+            if (after != null) {
+                predicates.add(descending ? cb.lessThan(id, after.getId()) : cb.greaterThan(id, after.getId()));
+            }
+            query.orderBy(descending ? cb.desc(id) : cb.asc(id));
+        } else {
+            Expression<String> key = u.get(sortProperty);
+            if (after != null) {
+                predicates.add(descending
+                        ? cb.or(cb.lessThan(key, after.getKey()), cb.and(cb.equal(key, after.getKey()), cb.lessThan(id, after.getId())))
+                        : cb.or(cb.greaterThan(key, after.getKey()), cb.and(cb.equal(key, after.getKey()), cb.greaterThan(id, after.getId()))));
+            }
+            query.orderBy(descending ? cb.desc(key) : cb.asc(key), descending ? cb.desc(id) : cb.asc(id));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.DEAproject.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 access tokens of the form
+ * {@code base64url(userId:roleBits:expiresAt:username).base64url(signature)}.
+ * Verification needs only the shared secret, no database or session lookup.
+ */
+@Component
+public class AccessTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public AccessTokenService(@Value("${auth.token.secret:}") String secret,
+                              @Value("${auth.token.ttl:PT12H}") Duration ttl) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            // Fine for a single node; every node behind a balancer needs the same configured secret
+            log.warn("auth.token.secret is not set, using a random per-process key");
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = ttl;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        String payload = user.getId() + ":" + user.getRoleBits() + ":" + expiresAt + ":" + user.getUsername();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (token == null) return Optional.empty();
+        int dot = token.indexOf('.');
+        if (dot <= 0) return Optional.empty();
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) return Optional.empty();
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4) return Optional.empty();
+            if (Long.parseLong(parts[2]) < System.currentTimeMillis() / 1000) return Optional.empty();
+            return Optional.of(new AuthenticatedUser(Long.parseLong(parts[0]), parts[3], Integer.parseInt(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Duration getTtl() { return ttl; }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.DEAproject.security;
+
+import com.example.DEAproject.model.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Signs a verified user in, either into the HTTP session (default) or,
+ * with auth.stateless.enabled=true, by issuing a signed access token.
+ * Controllers read the caller through {@link #current()} in both modes.
+ */
+@Component
+public class AuthSessionManager {
+
+    private final boolean stateless;
+    private final AccessTokenService tokens;
+    private final SecurityContextRepository contextRepository;
+
+    public AuthSessionManager(@Value("${auth.stateless.enabled:false}") boolean stateless,
+                              AccessTokenService tokens,
+                              SecurityContextRepository contextRepository) {
+        this.stateless = stateless;
+        this.tokens = tokens;
+        this.contextRepository = contextRepository;
+    }
+
+    // Returns the access token in stateless mode, null when the session carries the identity
+    public String signIn(User user, HttpServletRequest request, HttpServletResponse response) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), RoleBits.of(user.getRoles()));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, RoleBits.authorities(principal.getRoleBits())));
+        SecurityContextHolder.setContext(context);
+
+        if (stateless) {
+            return tokens.issue(principal);
+        }
+        // A session from before login gets a new id, so a planted session id can't be used after sign-in
+        if (request.getSession(false) != null) request.changeSessionId();
+        contextRepository.saveContext(context, request, response);
+        return null;
+    }
+
+    public void signOut(HttpServletRequest request) {
+        SecurityContextHolder.clearContext();
+        HttpSession session = request.getSession(false);
+        if (session != null) session.invalidate();
+    }
+
+    public boolean isStateless() { return stateless; }
+    public Duration getTokenTtl() { return tokens.getTtl(); }
+
+    public static Optional<AuthenticatedUser> current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+}
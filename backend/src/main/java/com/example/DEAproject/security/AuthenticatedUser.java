@@ -0,0 +1,28 @@
+package com.example.DEAproject.security;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+// Identity carried in the security context: small enough for a session or a token
+public class AuthenticatedUser implements Principal, Serializable {
+
+    private final Long id;
+    private final String username;
+    private final int roleBits;
+
+    public AuthenticatedUser(Long id, String username, int roleBits) {
+        this.id = id;
+        this.username = username;
+        this.roleBits = roleBits;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public int getRoleBits() { return roleBits; }
+
+    public boolean hasRole(int bit) { return (roleBits & bit) != 0; }
+    public boolean isAdmin() { return hasRole(RoleBits.ADMIN); }
+
+    @Override
+    public String getName() { return username; }
+}
@@ -1,28 +1,23 @@
 package com.example.DEAproject.security;
 
 import com.example.DEAproject.model.User;
-import com.example.DEAproject.model.Role;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
 
 public class CustomUserDetails implements UserDetails {
     private final User user;
+    private final int roleBits;
 
     public CustomUserDetails(User user) {
         this.user = user;
+        this.roleBits = RoleBits.of(user.getRoles()); // resolved once, authorities are shared lists
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(Role::getName)
-                .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toSet());
+        return RoleBits.authorities(roleBits);
     }
 
     @Override public String getPassword() { return user.getPassword(); }
@@ -33,4 +28,5 @@ public class CustomUserDetails implements UserDetails {
     @Override public boolean isEnabled() { return true; }
 
     public User getUser() { return user; }
+    public int getRoleBits() { return roleBits; }
 }
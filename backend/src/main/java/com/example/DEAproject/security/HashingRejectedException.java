@@ -0,0 +1,8 @@
+package com.example.DEAproject.security;
+
+// Thrown when the password hashing pool is saturated; controllers map it to 429
+public class HashingRejectedException extends RuntimeException {
+    public HashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.DEAproject.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt verification on a small dedicated pool with a bounded queue.
+ * When the queue is full the caller is rejected immediately instead of
+ * tying up another request thread, so a login spike cannot starve the rest of the API.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   @Value("${auth.hashing.threads:0}") int threads,
+                                   @Value("${auth.hashing.queue-capacity:32}") int queueCapacity,
+                                   @Value("${auth.hashing.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "pwd-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) return false;
+
+        long submitted = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                long start = System.nanoTime();
+                totalWaitNanos.add(start - submitted);
+                boolean ok = passwordEncoder.matches(rawPassword, encodedPassword);
+                long took = System.nanoTime() - start;
+                totalHashNanos.add(took);
+                maxHashNanos.accumulateAndGet(took, Math::max);
+                completed.increment();
+                return ok;
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingRejectedException("Too many login attempts, please retry shortly");
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timedOut.increment();
+            throw new HashingRejectedException("Login is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingRejectedException("Login interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long done = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.put("completed", done);
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("avgHashMillis", done == 0 ? 0.0 : totalHashNanos.sum() / 1_000_000.0 / done);
+        stats.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        stats.put("avgQueueWaitMillis", done == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / done);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
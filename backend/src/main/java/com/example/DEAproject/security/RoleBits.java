@@ -0,0 +1,74 @@
+package com.example.DEAproject.security;
+
+import com.example.DEAproject.model.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact encoding of a user's roles: one bit per known role name.
+ * Resolved once at login and carried in the session or access token.
+ */
+public final class RoleBits {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleBits.class);
+
+    public static final int ADMIN = 1;
+    public static final int TRAINER = 1 << 1;
+    public static final int USER = 1 << 2;
+    public static final int CUSTOMER = 1 << 3;
+
+    private static final String[] NAMES = {"ADMIN", "TRAINER", "USER", "CUSTOMER"};
+
+    // Authority lists for every possible mask, so the per-request lookup is an array index
+    private static final List<List<GrantedAuthority>> AUTHORITIES = new ArrayList<>();
+
+    static {
+        for (int mask = 0; mask < (1 << NAMES.length); mask++) {
+            List<GrantedAuthority> list = new ArrayList<>();
+            for (int i = 0; i < NAMES.length; i++) {
+                if ((mask & (1 << i)) != 0) list.add(new SimpleGrantedAuthority("ROLE_" + NAMES[i]));
+            }
+            AUTHORITIES.add(List.copyOf(list));
+        }
+    }
+
+    // Role names already reported, so a misnamed role warns once rather than on every login
+    private static final Set<String> UNKNOWN = ConcurrentHashMap.newKeySet();
+
+    private RoleBits() {}
+
+    // Roles without a bit grant nothing through the mask, so they are logged instead of dropped silently
+    public static int of(Collection<Role> roles) {
+        int bits = 0;
+        for (Role role : roles) {
+            int bit = bit(role.getName());
+            if (bit == 0 && UNKNOWN.add(String.valueOf(role.getName()))) {
+                log.atWarn().addKeyValue("role", role.getName())
+                        .log("Role has no bit in RoleBits and grants no access; add it to RoleBits.NAMES or rename it");
+            }
+            bits |= bit;
+        }
+        return bits;
+    }
+
+    public static int bit(String roleName) {
+        if (roleName == null) return 0;
+        String name = roleName.startsWith("ROLE_") ? roleName.substring(5) : roleName;
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(name)) return 1 << i;
+        }
+        return 0;
+    }
+
+    public static List<GrantedAuthority> authorities(int bits) {
+        return AUTHORITIES.get(bits & ((1 << NAMES.length) - 1));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.DEAproject.security;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.function.Supplier;
+
+// URL rule that checks the role mask resolved at login: a single AND per request
+public class RoleBitsAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private final int required;
+
+    private RoleBitsAuthorizationManager(int required) {
+        this.required = required;
+    }
+
+    public static RoleBitsAuthorizationManager hasRole(int roleBit) {
+        return new RoleBitsAuthorizationManager(roleBit);
+    }
+
+    // Granted when the user has at least one of the bits in the mask
+    public static RoleBitsAuthorizationManager hasAnyRole(int roleBits) {
+        return new RoleBitsAuthorizationManager(roleBits);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        boolean granted = auth != null
+                && auth.getPrincipal() instanceof AuthenticatedUser user
+                && user.hasRole(required);
+        return new AuthorizationDecision(granted);
+    }
+
+    // Still abstract in AuthorizationManager; kept only for callers of the old API
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return (AuthorizationDecision) authorize(authentication, context);
+    }
+}
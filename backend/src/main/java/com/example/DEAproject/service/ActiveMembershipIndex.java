@@ -0,0 +1,116 @@
+package com.example.DEAproject.service;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * userId -> latest subscription end date (as epoch day), held in primitive arrays
+ * with open addressing so lookups allocate nothing and never box.
+ * Readers use an optimistic StampedLock read and only fall back to a real read
+ * lock when a writer got in between; writes (new subscriptions) are rare.
+ */
+public class ActiveMembershipIndex {
+
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    private static final long EMPTY = 0L; // user ids start at 1
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // Swapped as one reference on rehash so a reader never pairs new keys with old values
+    private record Table(long[] keys, long[] values) {}
+
+    private final StampedLock lock = new StampedLock();
+    private Table table;
+    private int size;
+
+    public ActiveMembershipIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        table = new Table(new long[capacity], new long[capacity]);
+    }
+
+    public long get(long userId) {
+        long stamp = lock.tryOptimisticRead();
+        long value = find(table, userId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = find(table, userId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    // Keeps the later of the stored and the given end day
+    public void extend(long userId, long endDay) {
+        if (userId == EMPTY) throw new IllegalArgumentException("userId must not be 0");
+        long stamp = lock.writeLock();
+        try {
+            long[] keys = table.keys();
+            long[] values = table.values();
+            int mask = keys.length - 1;
+            int i = mix(userId) & mask;
+            while (keys[i] != EMPTY && keys[i] != userId) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == userId) {
+                values[i] = Math.max(values[i], endDay);
+                return;
+            }
+            keys[i] = userId;
+            values[i] = endDay;
+            if (++size > keys.length * LOAD_FACTOR) {
+                rehash(keys.length << 1);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static long find(Table table, long userId) {
+        // Bounded so a read racing a writer cannot spin; the stamp check discards its result anyway
+        long[] keys = table.keys();
+        long[] values = table.values();
+        int mask = keys.length - 1;
+        int i = mix(userId) & mask;
+        for (int probes = 0; probes < keys.length; probes++) {
+            long key = keys[i];
+            if (key == EMPTY) return ABSENT; // before the match, so get(0) never hits a free slot
+            if (key == userId) return values[i];
+            i = (i + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = table.keys();
+        long[] oldValues = table.values();
+        long[] newKeys = new long[capacity];
+        long[] newValues = new long[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == EMPTY) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (newKeys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            newKeys[i] = oldKeys[j];
+            newValues[i] = oldValues[j];
+        }
+        table = new Table(newKeys, newValues);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
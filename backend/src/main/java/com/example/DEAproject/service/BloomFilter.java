@@ -0,0 +1,80 @@
+package com.example.DEAproject.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter over strings. put() and mightContain() are lock-free
+ * (bits are set with CAS), so lookups never wait for concurrent inserts.
+ * A false answer from mightContain() is definite; true means "probably".
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.expectedInsertions = n;
+    }
+
+    public void put(String value) {
+        long h = hash64(value);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) break;
+            }
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String value) {
+        long h = hash64(value);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // Past the expected size the false positive rate climbs; callers rebuild bigger
+    public boolean isSaturated() {
+        return insertions.sum() > expectedInsertions;
+    }
+
+    public long getInsertions() { return insertions.sum(); }
+    public long getBitCount() { return bitCount; }
+    public int getHashes() { return hashes; }
+
+    // FNV-1a over UTF-8 followed by a 64-bit finalizer (murmur3 fmix64)
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e87b9L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
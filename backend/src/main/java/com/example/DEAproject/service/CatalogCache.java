@@ -0,0 +1,115 @@
+package com.example.DEAproject.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the public catalogs (trainers, plans, memberships) as ready-to-send
+ * JSON and gzip bytes with a strong ETag. Writers call invalidate() after
+ * their change is committed; the next read rebuilds the entry once.
+ */
+@Component
+public class CatalogCache {
+
+    public enum Catalog { TRAINERS, PLANS, MEMBERSHIPS }
+
+    private static final class Entry {
+        final byte[] json;
+        final byte[] gzip;
+        final String etag;
+        final String gzipEtag;
+
+        Entry(byte[] json, byte[] gzip, String etag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = "\"" + etag + "\"";
+            this.gzipEtag = "\"" + etag + "-gz\"";
+        }
+    }
+
+    private final Map<Catalog, Entry> entries = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+
+    public CatalogCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void invalidate(Catalog catalog) {
+        // remove() waits for an in-flight computeIfAbsent on the same key, so a rebuild
+        // that read the old rows can never outlive the invalidation that follows the write
+        entries.remove(catalog);
+    }
+
+    public ResponseEntity<byte[]> respond(Catalog catalog, HttpServletRequest request, Supplier<?> loader) {
+        Entry entry = entries.computeIfAbsent(catalog, c -> build(loader.get()));
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        boolean notModified = matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(gzip ? entry.gzipEtag : entry.etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (notModified) {
+            return builder.build();
+        }
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzip);
+        }
+        return builder.body(entry.json);
+    }
+
+    private static boolean matches(String ifNoneMatch, Entry entry) {
+        if (ifNoneMatch == null) return false;
+        return ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(entry.etag) || ifNoneMatch.contains(entry.gzipEtag);
+    }
+
+    private Entry build(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new Entry(json, gzip(json), hash(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.DEAproject.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer queue of check-in events, stored column-wise in
+ * primitive arrays. Each slot carries a sequence number: producers claim a slot
+ * with one CAS on the tail and publish it by bumping the slot sequence, so request
+ * threads never block. A single consumer (the attendance flusher) drains it.
+ * offer() fails instead of waiting when the buffer is full.
+ */
+public class CheckInRingBuffer {
+
+    public interface Sink {
+        void accept(long userId, long epochMillis, boolean checkIn, boolean granted);
+    }
+
+    private static final byte CHECK_IN = 1;
+    private static final byte GRANTED = 2;
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] userIds;
+    private final long[] times;
+    private final byte[] flags;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // written by the consumer only
+
+    public CheckInRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        mask = capacity - 1;
+        sequences = new AtomicLongArray(capacity);
+        userIds = new long[capacity];
+        times = new long[capacity];
+        flags = new byte[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(long userId, long epochMillis, boolean checkIn, boolean granted) {
+        while (true) {
+            long pos = tail.get();
+            int slot = (int) (pos & mask);
+            long seq = sequences.get(slot);
+            if (seq == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    userIds[slot] = userId;
+                    times[slot] = epochMillis;
+                    flags[slot] = (byte) ((checkIn ? CHECK_IN : 0) | (granted ? GRANTED : 0));
+                    sequences.set(slot, pos + 1); // publish
+                    return true;
+                }
+            } else if (seq < pos) {
+                return false; // consumer has not freed this slot yet
+            }
+            // else another producer took the slot; retry with the new tail
+        }
+    }
+
+    // Hands up to max published events to the sink and returns how many were drained
+    public synchronized int drain(Sink sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) (head & mask);
+            if (sequences.get(slot) != head + 1) break;
+            byte f = flags[slot];
+            sink.accept(userIds[slot], times[slot], (f & CHECK_IN) != 0, (f & GRANTED) != 0);
+            sequences.set(slot, head + mask + 1); // free for the producer one lap ahead
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    public long pending() {
+        return tail.get() - head;
+    }
+}
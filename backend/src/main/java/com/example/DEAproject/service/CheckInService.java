@@ -0,0 +1,162 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.CheckInResult;
+import com.example.DEAproject.dto.MembershipValidity;
+import com.example.DEAproject.model.Attendance;
+import com.example.DEAproject.repository.AttendanceRepository;
+import com.example.DEAproject.repository.SubscriptionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Door check-in/check-out. Gate decisions are answered from ActiveMembershipIndex
+ * without touching the database; attendance rows are queued in a ring buffer and
+ * written in batches by flush(). Occupancy uses LongAdder so concurrent gates
+ * update separate cells instead of contending on one counter. The index is loaded
+ * once the application is ready (after any seeding); check-ins before that are
+ * refused with IllegalStateException rather than denied and recorded.
+ */
+@Service
+public class CheckInService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckInService.class);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final TransactionTemplate tx;
+    private final int flushBatchSize;
+
+    private final ActiveMembershipIndex index = new ActiveMembershipIndex(1024);
+    private final CheckInRingBuffer events;
+    private final Set<Long> inside = ConcurrentHashMap.newKeySet();
+    private final LongAdder occupancy = new LongAdder();
+    private final LongAdder checkInsToday = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean loaded; // until then every member would look unsubscribed
+
+    public CheckInService(SubscriptionRepository subscriptionRepository,
+                          AttendanceRepository attendanceRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${checkin.buffer-size:65536}") int bufferSize,
+                          @Value("${checkin.flush-batch-size:500}") int flushBatchSize) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.events = new CheckInRingBuffer(bufferSize);
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        // extend() keeps the max, so subscriptions committed while this runs are not lost
+        List<MembershipValidity> rows = subscriptionRepository.findLatestEndDates(LocalDate.now());
+        rows.forEach(r -> index.extend(r.getUserId(), r.getEndDate().toEpochDay()));
+        loaded = true;
+        log.atInfo().addKeyValue("members", rows.size()).log("Active membership index loaded");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionsCreated(SubscriptionCreatedEvent event) {
+        for (SubscriptionCreatedEvent.Item item : event.getItems()) {
+            index.extend(item.getUserId(), item.getEndDate().toEpochDay());
+        }
+    }
+
+    public CheckInResult checkIn(long userId) {
+        requireValidId(userId);
+        if (!loaded) throw new IllegalStateException("Check-in is starting up, try again shortly");
+        long endDay = index.get(userId);
+        boolean allowed = endDay != ActiveMembershipIndex.ABSENT && endDay >= LocalDate.now().toEpochDay();
+        if (allowed) {
+            checkInsToday.increment();
+            if (inside.add(userId)) {
+                occupancy.increment();
+            }
+        } else {
+            denied.increment();
+        }
+        record(userId, true, allowed);
+        return new CheckInResult(userId, allowed,
+                endDay != ActiveMembershipIndex.ABSENT ? LocalDate.ofEpochDay(endDay) : null,
+                occupancy.sum());
+    }
+
+    public long checkOut(long userId) {
+        requireValidId(userId);
+        if (inside.remove(userId)) {
+            occupancy.decrement();
+            record(userId, false, true);
+        }
+        return occupancy.sum();
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of(
+                "occupancy", occupancy.sum(),
+                "checkInsToday", checkInsToday.sum(),
+                "deniedToday", denied.sum(),
+                "pendingWrites", events.pending(),
+                "droppedWrites", dropped.sum());
+    }
+
+    // Nobody stays overnight; also clears anyone who left without checking out
+    @Scheduled(cron = "${checkin.reset-cron:0 0 3 * * *}")
+    public void resetDay() {
+        inside.clear();
+        occupancy.reset();
+        checkInsToday.reset();
+        denied.reset();
+    }
+
+    @Scheduled(fixedDelayString = "${checkin.flush-interval-ms:1000}")
+    public void flush() {
+        List<Attendance> batch = new ArrayList<>(flushBatchSize);
+        while (events.drain((userId, millis, in, granted) -> batch.add(new Attendance(userId,
+                Instant.ofEpochMilli(millis), in ? Attendance.Direction.IN : Attendance.Direction.OUT, granted)),
+                flushBatchSize) > 0) {
+            try {
+                // One transaction per batch; hibernate.jdbc.batch_size turns it into multi-row inserts
+                tx.executeWithoutResult(status -> attendanceRepository.saveAll(batch));
+            } catch (RuntimeException e) {
+                dropped.add(batch.size());
+                log.atError().addKeyValue("rows", batch.size()).setCause(e).log("Attendance batch could not be written");
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static void requireValidId(long userId) {
+        if (userId <= 0) throw new IllegalArgumentException("Invalid user id: " + userId);
+    }
+
+    private void record(long userId, boolean in, boolean granted) {
+        if (!events.offer(userId, System.currentTimeMillis(), in, granted)) {
+            // Never hold up the gate for bookkeeping
+            dropped.increment();
+        }
+    }
+}
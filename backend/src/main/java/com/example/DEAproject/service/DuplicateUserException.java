@@ -0,0 +1,14 @@
+package com.example.DEAproject.service;
+
+// A username or email that is already registered; controllers answer 409
+public class DuplicateUserException extends RuntimeException {
+
+    private final String field;
+
+    public DuplicateUserException(String field) {
+        super(("username".equals(field) ? "Username" : "Email") + " already exists");
+        this.field = field;
+    }
+
+    public String getField() { return field; }
+}
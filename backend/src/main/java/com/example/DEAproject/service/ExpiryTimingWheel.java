@@ -0,0 +1,102 @@
+package com.example.DEAproject.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Two-level hierarchical timing wheel with a one-day tick.
+ * Level 0 has 64 day slots, level 1 has 64 slots of 64 days each (about 11 years).
+ * Anything further out waits in an overflow list that is rechecked once per 64 days.
+ * Advancing one day touches only the items due that day, plus one level-1 cascade every 64 days.
+ * Not thread-safe; callers synchronize.
+ */
+public class ExpiryTimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private record Entry<T>(long due, T item) {}
+
+    private final List<List<Entry<T>>> level0 = new ArrayList<>(SLOTS);
+    private final List<List<Entry<T>>> level1 = new ArrayList<>(SLOTS);
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<T> ready = new ArrayList<>();
+    private long current;
+    private int size;
+
+    // current = last day already fired; items due on or before it fire on the next advance
+    public ExpiryTimingWheel(long currentDay) {
+        this.current = currentDay;
+        for (int i = 0; i < SLOTS; i++) {
+            level0.add(new ArrayList<>());
+            level1.add(new ArrayList<>());
+        }
+    }
+
+    public void schedule(long dueDay, T item) {
+        size++;
+        place(new Entry<>(dueDay, item));
+    }
+
+    private void place(Entry<T> entry) {
+        long due = entry.due();
+        if (due <= current) {
+            ready.add(entry.item());
+        } else if (due - current < SLOTS) {
+            level0.get((int) (due & MASK)).add(entry);
+        } else if ((due >> BITS) - (current >> BITS) < SLOTS) {
+            level1.get((int) ((due >> BITS) & MASK)).add(entry);
+        } else {
+            overflow.add(entry);
+        }
+    }
+
+    // Moves the wheel forward to the given day, handing every item that fell due to the consumer
+    public void advanceTo(long day, Consumer<T> fire) {
+        drainReady(fire);
+        while (current < day) {
+            current++;
+            if ((current & MASK) == 0) {
+                cascade();
+                drainReady(fire);
+            }
+            List<Entry<T>> slot = level0.get((int) (current & MASK));
+            for (Entry<T> entry : slot) {
+                fire.accept(entry.item());
+                size--;
+            }
+            slot.clear();
+        }
+    }
+
+    private void cascade() {
+        // Entering a new 64-day block: spread its level-1 slot over the day slots
+        List<Entry<T>> block = level1.get((int) ((current >> BITS) & MASK));
+        List<Entry<T>> moved = new ArrayList<>(block);
+        block.clear();
+        moved.forEach(this::place);
+
+        // Pull overflow entries that are now within level-1 range
+        for (Iterator<Entry<T>> it = overflow.iterator(); it.hasNext(); ) {
+            Entry<T> entry = it.next();
+            if ((entry.due() >> BITS) - (current >> BITS) < SLOTS) {
+                it.remove();
+                place(entry);
+            }
+        }
+    }
+
+    private void drainReady(Consumer<T> fire) {
+        for (T item : ready) {
+            fire.accept(item);
+            size--;
+        }
+        ready.clear();
+    }
+
+    public long getCurrentDay() { return current; }
+    public int size() { return size; }
+}
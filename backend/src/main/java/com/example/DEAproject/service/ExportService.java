@@ -0,0 +1,185 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.SubscriptionView;
+import com.example.DEAproject.repository.SubscriptionRepository;
+import com.example.DEAproject.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes users and subscriptions as NDJSON or CSV straight from a JPA stream.
+ * Rows are streamed as projections, not entities, so nothing accumulates in the
+ * persistence context and heap use does not grow with the table size. User role
+ * names are loaded per block of FLUSH_EVERY rows, one query per block instead
+ * of one per user.
+ */
+@Service
+public class ExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int FLUSH_EVERY = 500; // matches the repository fetch size
+
+    private static final List<String> USER_COLUMNS = List.of("id", "username", "email", "phone", "roles");
+    private static final List<String> SUBSCRIPTION_COLUMNS = List.of(
+            "id", "userId", "username", "membershipId", "membershipName", "membershipPrice",
+            "planId", "planName", "planPrice", "startDate", "endDate");
+
+    private final UserRepository userRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(UserRepository userRepository,
+                         SubscriptionRepository subscriptionRepository,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public void exportUsers(Format format, OutputStream out) {
+        // The stream has to be opened inside a transaction on the thread that writes the response
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> users = userRepository.streamAllForExport()) {
+                writeUsers(users, format, out);
+            }
+        });
+    }
+
+    public void exportSubscriptions(Format format, OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<SubscriptionView> subscriptions = subscriptionRepository.streamAllViews()) {
+                write(subscriptions, SUBSCRIPTION_COLUMNS, ExportService::subscriptionRow, format, out);
+            }
+        });
+    }
+
+    private void writeUsers(Stream<Object[]> users, Format format, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeHeader(writer, USER_COLUMNS, format);
+            List<Object[]> block = new ArrayList<>(FLUSH_EVERY);
+            for (Object[] user : (Iterable<Object[]>) users::iterator) {
+                block.add(user);
+                if (block.size() == FLUSH_EVERY) {
+                    writeUserBlock(writer, block, format);
+                    block.clear();
+                    writer.flush();
+                }
+            }
+            writeUserBlock(writer, block, format);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeUserBlock(Writer writer, List<Object[]> block, Format format) throws IOException {
+        if (block.isEmpty()) return;
+        // (userId, role name) pairs for the whole block
+        Map<Long, List<String>> roles = new HashMap<>();
+        for (Object[] pair : userRepository.findRoleNames(block.stream().map(u -> (Long) u[0]).toList())) {
+            roles.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        for (Object[] u : block) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", u[0]);
+            row.put("username", u[1]);
+            row.put("email", u[2]);
+            row.put("phone", u[3]);
+            row.put("roles", roles.getOrDefault((Long) u[0], List.of()).stream().sorted().collect(Collectors.joining(";")));
+            writeRow(writer, row, USER_COLUMNS, format);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, List<String> columns, Function<T, Map<String, Object>> mapper,
+                           Format format, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeHeader(writer, columns, format);
+            int count = 0;
+            for (T item : (Iterable<T>) rows::iterator) {
+                writeRow(writer, mapper.apply(item), columns, format);
+                if (++count % FLUSH_EVERY == 0) writer.flush();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeHeader(Writer writer, List<String> columns, Format format) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        }
+    }
+
+    private void writeRow(Writer writer, Map<String, Object> row, List<String> columns, Format format) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(columns.stream().map(c -> csv(row.get(c))).collect(Collectors.joining(",")));
+        } else {
+            writer.write(objectMapper.writeValueAsString(row));
+        }
+        writer.write('\n');
+    }
+
+    private static Map<String, Object> subscriptionRow(SubscriptionView s) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", s.getId());
+        row.put("userId", s.getUser() != null ? s.getUser().getId() : null);
+        row.put("username", s.getUser() != null ? s.getUser().getUsername() : null);
+        row.put("membershipId", s.getMembershipPlan().getId());
+        row.put("membershipName", s.getMembershipPlan().getName());
+        row.put("membershipPrice", s.getMembershipPlan().getPrice());
+        row.put("planId", s.getPlan() != null ? s.getPlan().getId() : null);
+        row.put("planName", s.getPlan() != null ? s.getPlan().getName() : null);
+        row.put("planPrice", s.getPlan() != null ? s.getPlan().getPrice() : null);
+        row.put("startDate", s.getStartDate() != null ? s.getStartDate().toString() : null);
+        row.put("endDate", s.getEndDate() != null ? s.getEndDate().toString() : null);
+        return row;
+    }
+
+    private static String csv(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        boolean quote = text.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r');
+        return quote ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+
+    // {"error": message} for the export endpoints, whose declared body type has to be StreamingResponseBody
+    public StreamingResponseBody error(String message) {
+        return out -> out.write(objectMapper.writeValueAsBytes(Map.of("error", message)));
+    }
+
+    public static Format parseFormat(String value) {
+        return Arrays.stream(Format.values())
+                .filter(f -> f.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported format: " + value));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.ReminderMail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends reminders over SMTP when spring.mail.host is configured,
+ * otherwise only logs them (local development).
+ */
+@Component
+public class MailReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(MailReminderSender.class);
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public MailReminderSender(ObjectProvider<JavaMailSender> mailSender,
+                              @Value("${expiry.reminders.from:no-reply@fitnessharks.com}") String from) {
+        this.mailSender = mailSender.getIfAvailable();
+        this.from = from;
+    }
+
+    @Override
+    public void send(List<ReminderMail> batch) {
+        if (batch.isEmpty()) return;
+        if (mailSender == null) {
+            batch.forEach(m -> log.atInfo().addKeyValue("to", m.getTo()).log(m.getSubject()));
+            return;
+        }
+        // One call per batch so JavaMailSender reuses a single SMTP connection
+        SimpleMailMessage[] messages = batch.stream().map(m -> {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(m.getTo());
+            message.setSubject(m.getSubject());
+            message.setText(m.getBody());
+            return message;
+        }).toArray(SimpleMailMessage[]::new);
+        mailSender.send(messages);
+    }
+}
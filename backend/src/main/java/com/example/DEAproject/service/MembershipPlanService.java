@@ -14,6 +14,9 @@ public class MembershipPlanService {
     @Autowired
     private MembershipPlanRepository planRepository;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
     // Get all plans
     public List<MembershipPlan> getAllPlans() {
         return planRepository.findAll();
@@ -26,11 +29,14 @@ public class MembershipPlanService {
 
     // Save or update plan
     public MembershipPlan savePlan(MembershipPlan plan) {
-        return planRepository.save(plan);
+        MembershipPlan saved = planRepository.save(plan);
+        catalogCache.invalidate(CatalogCache.Catalog.MEMBERSHIPS);
+        return saved;
     }
 
     // Delete plan
     public void deletePlan(Long id) {
         planRepository.deleteById(id);
+        catalogCache.invalidate(CatalogCache.Catalog.MEMBERSHIPS);
     }
 }
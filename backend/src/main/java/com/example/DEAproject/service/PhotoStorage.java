@@ -0,0 +1,120 @@
+package com.example.DEAproject.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Image files under the uploads directory, named by the SHA-256 of their content
+ * (e.g. 3f2a...9c.jpg). Equal uploads share one file, and a name never changes
+ * content, so it can be served with an immutable cache policy and used as ETag.
+ */
+@Service
+public class PhotoStorage {
+
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|webp)");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg", "png", "image/png", "gif", "image/gif", "webp", "image/webp");
+
+    private final Path dir;
+    private final long maxBytes;
+
+    public PhotoStorage(@Value("${photos.dir:uploads}") String dir,
+                        @Value("${photos.max-bytes:5242880}") long maxBytes) throws IOException {
+        this.dir = Path.of(dir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        Files.createDirectories(this.dir);
+    }
+
+    // Streams the upload to disk while hashing it; returns the stored file name
+    public String store(InputStream content) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(content);
+        in.mark(12);
+        String extension = sniffExtension(in.readNBytes(12));
+        in.reset();
+
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Path temp = Files.createTempFile(dir, "upload-", ".tmp");
+        try {
+            try (InputStream digesting = new DigestInputStream(in, sha256);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[64 * 1024];
+                long total = 0;
+                int n;
+                while ((n = digesting.read(buffer)) != -1) {
+                    total += n;
+                    if (total > maxBytes) {
+                        throw new IllegalArgumentException("Photo exceeds " + maxBytes + " bytes");
+                    }
+                    out.write(buffer, 0, n);
+                }
+            }
+            String name = HexFormat.of().formatHex(sha256.digest()) + "." + extension;
+            try {
+                Files.move(temp, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content was uploaded before
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Accepts the data:image/...;base64,... strings older clients put into Trainer.photo
+    public String storeDataUrl(String dataUrl) throws IOException {
+        int comma = dataUrl.indexOf(',');
+        if (!dataUrl.startsWith("data:image/") || comma < 0 || !dataUrl.substring(0, comma).endsWith(";base64")) {
+            throw new IllegalArgumentException("Not a base64 image data URL");
+        }
+        return store(new ByteArrayInputStream(Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1))));
+    }
+
+    // Null for anything that is not a stored photo name, so callers cannot escape the directory
+    public Path resolve(String name) {
+        if (!isStoredName(name)) return null;
+        Path file = dir.resolve(name);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    // True for names produced by store(): <sha-256 hex>.<extension>
+    public static boolean isStoredName(String name) {
+        return name != null && NAME.matcher(name).matches();
+    }
+
+    public static String contentType(String name) {
+        return CONTENT_TYPES.getOrDefault(name.substring(name.lastIndexOf('.') + 1), "application/octet-stream");
+    }
+
+    private static String sniffExtension(byte[] head) {
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) return "jpg";
+        if (head.length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') return "png";
+        if (head.length >= 4 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') return "gif";
+        if (head.length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') return "webp";
+        throw new IllegalArgumentException("Only JPEG, PNG, GIF and WebP images are accepted");
+    }
+
+    public Path getDirectory() { return dir; }
+}
@@ -0,0 +1,10 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.ReminderMail;
+
+import java.util.List;
+
+// Transport for expiry reminders; replace the bean to deliver through another channel
+public interface ReminderSender {
+    void send(List<ReminderMail> batch);
+}
@@ -0,0 +1,185 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.RevenueReport;
+import com.example.DEAproject.model.RevenueRollup;
+import com.example.DEAproject.model.RevenueRollupKey;
+import com.example.DEAproject.repository.RevenueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Keeps revenue_rollup (sale day x membership x training plan -> count, revenue)
+ * current so dashboards read a few hundred rollup rows instead of joining every
+ * subscription with its prices.
+ *
+ * Rows are bumped by a synchronous listener, i.e. inside the transaction that
+ * creates the subscriptions: a rolled back subscribe leaves the rollup untouched.
+ * rebuild() recomputes everything from the subscription table in parallel id ranges.
+ */
+@Service
+public class RevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    private static final String UPSERT =
+            "insert into revenue_rollup (sale_day, membership_id, plan_id, subscriptions, membership_revenue, plan_revenue) "
+                    + "values (?, ?, ?, ?, ?, ?) on duplicate key update "
+                    + "subscriptions = subscriptions + values(subscriptions), "
+                    + "membership_revenue = membership_revenue + values(membership_revenue), "
+                    + "plan_revenue = plan_revenue + values(plan_revenue)";
+
+    private static final String RANGE_AGGREGATE =
+            "select s.start_date, s.membership_id, coalesce(s.training_plan_id, 0), count(*), "
+                    + "coalesce(sum(m.price), 0), coalesce(sum(p.price), 0) "
+                    + "from subscription s join membership_plans m on m.id = s.membership_id "
+                    + "left join plans p on p.id = s.training_plan_id "
+                    + "where s.id between ? and ? "
+                    + "group by s.start_date, s.membership_id, coalesce(s.training_plan_id, 0)";
+
+    private static final long RANGE_SIZE = 50_000;
+
+    private static final class Totals {
+        long subscriptions;
+        double membershipRevenue;
+        double planRevenue;
+
+        Totals add(long count, double membership, double plan) {
+            subscriptions += count;
+            membershipRevenue += membership;
+            planRevenue += plan;
+            return this;
+        }
+
+        Totals add(Totals other) {
+            return add(other.subscriptions, other.membershipRevenue, other.planRevenue);
+        }
+    }
+
+    private final RevenueRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final int rebuildParallelism;
+
+    public RevenueRollupService(RevenueRollupRepository rollupRepository, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${analytics.rebuild.parallelism:4}") int rebuildParallelism) {
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    // Synchronous on purpose: runs in the publisher's transaction (see SubscriptionServiceImpl)
+    @EventListener
+    public void onSubscriptionsCreated(SubscriptionCreatedEvent event) {
+        // A bulk enrollment is usually a single bucket, so this is one upsert either way
+        Map<RevenueRollupKey, Totals> deltas = new HashMap<>();
+        for (SubscriptionCreatedEvent.Item item : event.getItems()) {
+            deltas.computeIfAbsent(new RevenueRollupKey(item.getStartDate(), item.getMembershipId(), item.getPlanId()),
+                    k -> new Totals()).add(1, item.getMembershipPrice(), item.getPlanPrice());
+        }
+        upsert(deltas);
+    }
+
+    public RevenueReport report(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Map<LocalDate, Totals> byDay = new TreeMap<>();
+        Map<Long, Totals> byMembership = new TreeMap<>();
+        Map<Long, Totals> byPlan = new TreeMap<>();
+        Totals total = new Totals();
+        for (RevenueRollup r : rollupRepository.findByDayBetween(from, to)) {
+            RevenueRollupKey key = r.getId();
+            byDay.computeIfAbsent(key.getDay(), k -> new Totals())
+                    .add(r.getSubscriptions(), r.getMembershipRevenue(), r.getPlanRevenue());
+            byMembership.computeIfAbsent(key.getMembershipId(), k -> new Totals())
+                    .add(r.getSubscriptions(), r.getMembershipRevenue(), 0);
+            if (key.getPlanId() != RevenueRollupKey.NO_PLAN) {
+                byPlan.computeIfAbsent(key.getPlanId(), k -> new Totals())
+                        .add(r.getSubscriptions(), 0, r.getPlanRevenue());
+            }
+            total.add(r.getSubscriptions(), r.getMembershipRevenue(), r.getPlanRevenue());
+        }
+
+        List<RevenueReport.DayBucket> days = new ArrayList<>(byDay.size());
+        byDay.forEach((day, t) -> days.add(new RevenueReport.DayBucket(day, t.subscriptions, t.membershipRevenue + t.planRevenue)));
+        List<RevenueReport.PlanBucket> memberships = new ArrayList<>(byMembership.size());
+        byMembership.forEach((id, t) -> memberships.add(new RevenueReport.PlanBucket(id, t.subscriptions, t.membershipRevenue)));
+        List<RevenueReport.PlanBucket> plans = new ArrayList<>(byPlan.size());
+        byPlan.forEach((id, t) -> plans.add(new RevenueReport.PlanBucket(id, t.subscriptions, t.planRevenue)));
+
+        return new RevenueReport(from, to, total.subscriptions, total.membershipRevenue + total.planRevenue,
+                days, memberships, plans);
+    }
+
+    /**
+     * Recomputes all rollups. Subscriptions do not snapshot their price, so this
+     * uses current catalog prices. Subscriptions created while the scan runs may be
+     * missed; run it when sign-ups are quiet (or again afterwards).
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("select coalesce(min(id), 0) lo, coalesce(max(id), -1) hi from subscription");
+        long lo = ((Number) bounds.get("lo")).longValue();
+        long hi = ((Number) bounds.get("hi")).longValue();
+
+        // Each range is aggregated by the database on its own connection, then merged here
+        Map<RevenueRollupKey, Totals> merged = new ConcurrentHashMap<>();
+        long ranges = hi < lo ? 0 : (hi - lo) / RANGE_SIZE + 1;
+        ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+        try {
+            pool.submit(() -> LongStream.range(0, ranges).parallel().forEach(i -> {
+                long from = lo + i * RANGE_SIZE;
+                jdbcTemplate.query(RANGE_AGGREGATE, rs -> {
+                    Totals t = new Totals().add(rs.getLong(4), rs.getDouble(5), rs.getDouble(6));
+                    merged.merge(new RevenueRollupKey(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3)),
+                            t, Totals::add);
+                }, from, Math.min(hi, from + RANGE_SIZE - 1));
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rollup rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollup rebuild failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Swap in one transaction so readers see either the old or the new rollups
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from revenue_rollup");
+            upsert(merged);
+        });
+        log.atInfo().addKeyValue("rows", merged.size()).addKeyValue("ranges", ranges)
+                .addKeyValue("ms", System.currentTimeMillis() - started).log("Revenue rollups rebuilt");
+        return merged.size();
+    }
+
+    private void upsert(Map<RevenueRollupKey, Totals> deltas) {
+        if (deltas.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((key, t) -> args.add(new Object[]{
+                Date.valueOf(key.getDay()), key.getMembershipId(), key.getPlanId(),
+                t.subscriptions, t.membershipRevenue, t.planRevenue}));
+        jdbcTemplate.batchUpdate(UPSERT, args);
+    }
+}
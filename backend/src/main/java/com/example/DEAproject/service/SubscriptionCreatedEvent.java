@@ -0,0 +1,62 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.model.Subscription;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by SubscriptionServiceImpl for every subscribe/enroll call.
+ * Carries plain values so listeners never touch detached or lazy entities.
+ */
+public class SubscriptionCreatedEvent {
+
+    public static class Item {
+        private final Long subscriptionId;
+        private final Long userId;
+        private final Long membershipId;
+        private final Long planId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final double membershipPrice;
+        private final double planPrice;
+
+        public Item(Long subscriptionId, Long userId, Long membershipId, Long planId,
+                    LocalDate startDate, LocalDate endDate, double membershipPrice, double planPrice) {
+            this.subscriptionId = subscriptionId;
+            this.userId = userId;
+            this.membershipId = membershipId;
+            this.planId = planId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.membershipPrice = membershipPrice;
+            this.planPrice = planPrice;
+        }
+
+        public static Item of(Subscription s, Long userId) {
+            return new Item(s.getId(), userId,
+                    s.getMembershipPlan().getId(),
+                    s.getPlan() != null ? s.getPlan().getId() : null,
+                    s.getStartDate(), s.getEndDate(),
+                    s.getMembershipPlan().getPrice() != null ? s.getMembershipPlan().getPrice() : 0.0,
+                    s.getPlan() != null && s.getPlan().getPrice() != null ? s.getPlan().getPrice() : 0.0);
+        }
+
+        public Long getSubscriptionId() { return subscriptionId; }
+        public Long getUserId() { return userId; }
+        public Long getMembershipId() { return membershipId; }
+        public Long getPlanId() { return planId; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public double getMembershipPrice() { return membershipPrice; }
+        public double getPlanPrice() { return planPrice; }
+    }
+
+    private final List<Item> items;
+
+    public SubscriptionCreatedEvent(List<Item> items) {
+        this.items = items;
+    }
+
+    public List<Item> getItems() { return items; }
+}
@@ -0,0 +1,224 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.ExpiryReminder;
+import com.example.DEAproject.dto.ReminderMail;
+import com.example.DEAproject.dto.SubscriptionExpiry;
+import com.example.DEAproject.dto.UserContact;
+import com.example.DEAproject.model.ExpiryReminderSent;
+import com.example.DEAproject.model.ExpiryReminderSentKey;
+import com.example.DEAproject.repository.ExpiryReminderSentRepository;
+import com.example.DEAproject.repository.SubscriptionRepository;
+import com.example.DEAproject.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fires "expires in 7 days", "expires in 1 day" and "expired" reminders.
+ * Upcoming expirations live in an ExpiryTimingWheel. The wheel is filled from an
+ * endDate range query a few weeks ahead and extended by one day per day, so the
+ * daily tick costs O(items due) instead of a table scan. Reminders are mailed in
+ * rate-limited batches by dispatch(). Sent reminders are recorded for
+ * KEEP_SENT_DAYS days. On start the wheel is replayed over that window, so
+ * reminders that fell due while the app was down are still sent: per
+ * subscription only the most recent one, and only if it was not mailed yet.
+ * Reminders due before the window are not caught up.
+ */
+@Component
+public class SubscriptionExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionExpiryScheduler.class);
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int KEEP_SENT_DAYS = 7;
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final ExpiryReminderSentRepository sentRepository;
+    private final ReminderSender reminderSender;
+    private final int loadAheadDays;
+    private final int batchSize;
+
+    private final Queue<ExpiryReminder> outbox = new ConcurrentLinkedQueue<>();
+    private ExpiryTimingWheel<ExpiryReminder> wheel;
+    private LocalDate loadedThrough; // endDates up to here are in the wheel
+    private final Set<Long> scheduled = new HashSet<>(); // subscriptions with reminders in the wheel
+
+    public SubscriptionExpiryScheduler(SubscriptionRepository subscriptionRepository,
+                                       UserRepository userRepository,
+                                       ExpiryReminderSentRepository sentRepository,
+                                       ReminderSender reminderSender,
+                                       @Value("${expiry.load-ahead-days:63}") int loadAheadDays,
+                                       @Value("${expiry.reminders.batch-size:100}") int batchSize) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.userRepository = userRepository;
+        this.sentRepository = sentRepository;
+        this.reminderSender = reminderSender;
+        this.loadAheadDays = loadAheadDays;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        LocalDate today = LocalDate.now();
+        // Start back as far as sent markers are kept, to catch up on reminders missed while down
+        LocalDate from = today.minusDays(KEEP_SENT_DAYS);
+        wheel = new ExpiryTimingWheel<>(from.toEpochDay());
+        loadedThrough = from;
+        scheduled.clear();
+        extendWindow(today);
+        // A later reminder supersedes an earlier one (no "7 days left" after "expired")
+        Map<Long, ExpiryReminder> due = new LinkedHashMap<>();
+        wheel.advanceTo(today.toEpochDay(), r -> fired(r, d -> due.merge(d.getSubscriptionId(), d,
+                (a, b) -> b.getKind().compareTo(a.getKind()) > 0 ? b : a)));
+        // Skip the ones an earlier run already mailed
+        Set<ExpiryReminderSentKey> sent = due.isEmpty() ? Set.of() : new HashSet<>(sentRepository.findSent(due.keySet()));
+        due.values().stream().filter(r -> !sent.contains(key(r))).forEach(outbox::add);
+        log.atInfo().addKeyValue("scheduled", wheel.size()).addKeyValue("due", outbox.size()).log("Expiry wheel loaded");
+    }
+
+    // Runs shortly after midnight; also safe to call more often
+    @Scheduled(cron = "${expiry.advance-cron:0 5 0 * * *}")
+    public synchronized void advance() {
+        if (wheel == null) return;
+        LocalDate today = LocalDate.now();
+        extendWindow(today);
+        wheel.advanceTo(today.toEpochDay(), r -> fired(r, outbox::add));
+        sentRepository.deleteSentBefore(today.minusDays(KEEP_SENT_DAYS));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSubscriptionsCreated(SubscriptionCreatedEvent event) {
+        if (wheel == null) return;
+        for (SubscriptionCreatedEvent.Item item : event.getItems()) {
+            // Later end dates are picked up by extendWindow when the window reaches them
+            if (!item.getEndDate().isAfter(loadedThrough)) {
+                schedule(new SubscriptionExpiry(item.getSubscriptionId(), item.getUserId(), item.getEndDate()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${expiry.reminders.interval-ms:10000}")
+    public void dispatch() {
+        List<ExpiryReminder> batch = new ArrayList<>(batchSize);
+        ExpiryReminder next;
+        while (batch.size() < batchSize && (next = outbox.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) return;
+
+        Map<Long, UserContact> contacts = userRepository
+                .findByIdIn(batch.stream().map(ExpiryReminder::getUserId).distinct().toList())
+                .stream().collect(Collectors.toMap(UserContact::getId, Function.identity()));
+
+        List<ReminderMail> mails = new ArrayList<>(batch.size());
+        for (ExpiryReminder reminder : batch) {
+            UserContact contact = contacts.get(reminder.getUserId());
+            if (contact != null && contact.getEmail() != null) {
+                mails.add(compose(reminder, contact));
+            }
+        }
+        try {
+            reminderSender.send(mails);
+        } catch (RuntimeException e) {
+            log.warn("Sending expiry reminders failed, will retry", e);
+            batch.stream().filter(r -> r.getAttempts() + 1 < MAX_ATTEMPTS).map(ExpiryReminder::retry).forEach(outbox::add);
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            sentRepository.saveAll(batch.stream().map(r -> new ExpiryReminderSent(key(r), today)).toList());
+        } catch (RuntimeException e) {
+            // The mails are out; at worst a restart today sends these again
+            log.warn("Recording sent expiry reminders failed", e);
+        }
+    }
+
+    private void extendWindow(LocalDate today) {
+        LocalDate target = today.plusDays(loadAheadDays);
+        if (!target.isAfter(loadedThrough)) return;
+
+        // Keyset pages over the (end_date, id) index
+        LocalDate afterDate = loadedThrough;
+        long afterId = Long.MAX_VALUE;
+        while (true) {
+            List<SubscriptionExpiry> page = subscriptionRepository.findExpiringBetween(
+                    afterDate, afterId, target, PageRequest.of(0, LOAD_PAGE_SIZE));
+            page.forEach(this::schedule);
+            if (page.size() < LOAD_PAGE_SIZE) break;
+            SubscriptionExpiry last = page.get(page.size() - 1);
+            afterDate = last.getEndDate();
+            afterId = last.getSubscriptionId();
+        }
+        loadedThrough = target;
+    }
+
+    // Idempotent: a subscription already in the wheel (e.g. loaded by extendWindow and then
+    // reported again by onSubscriptionsCreated) is not scheduled twice
+    private void schedule(SubscriptionExpiry s) {
+        long end = s.getEndDate().toEpochDay();
+        long today = wheel.getCurrentDay();
+        if (end <= today || !scheduled.add(s.getSubscriptionId())) return;
+        if (end - 7 > today) {
+            wheel.schedule(end - 7, new ExpiryReminder(s.getSubscriptionId(), s.getUserId(), s.getEndDate(), ExpiryReminder.Kind.EXPIRES_IN_7_DAYS, 0));
+        }
+        if (end - 1 > today) {
+            wheel.schedule(end - 1, new ExpiryReminder(s.getSubscriptionId(), s.getUserId(), s.getEndDate(), ExpiryReminder.Kind.EXPIRES_IN_1_DAY, 0));
+        }
+        if (end > today) {
+            wheel.schedule(end, new ExpiryReminder(s.getSubscriptionId(), s.getUserId(), s.getEndDate(), ExpiryReminder.Kind.EXPIRED, 0));
+        }
+    }
+
+    private void fired(ExpiryReminder reminder, Consumer<ExpiryReminder> target) {
+        // EXPIRED is always the last reminder of a subscription
+        if (reminder.getKind() == ExpiryReminder.Kind.EXPIRED) scheduled.remove(reminder.getSubscriptionId());
+        target.accept(reminder);
+    }
+
+    private static ExpiryReminderSentKey key(ExpiryReminder reminder) {
+        return new ExpiryReminderSentKey(reminder.getSubscriptionId(), reminder.getKind());
+    }
+
+    private static ReminderMail compose(ExpiryReminder reminder, UserContact contact) {
+        String subject = switch (reminder.getKind()) {
+            case EXPIRES_IN_7_DAYS -> "Your Fitness Sharks membership expires in 7 days";
+            case EXPIRES_IN_1_DAY -> "Your Fitness Sharks membership expires tomorrow";
+            case EXPIRED -> "Your Fitness Sharks membership has expired";
+        };
+        String body = "Hi " + contact.getUsername() + ",\n\n"
+                + (reminder.getKind() == ExpiryReminder.Kind.EXPIRED
+                    ? "Your membership ended on " + reminder.getEndDate() + ". Renew any time to keep training with us."
+                    : "Your membership ends on " + reminder.getEndDate() + ". Renew now to keep your access uninterrupted.")
+                + "\n\nFitness Sharks";
+        return new ReminderMail(contact.getEmail(), subject, body);
+    }
+
+    public synchronized int scheduledCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    public int pendingCount() {
+        return outbox.size();
+    }
+}
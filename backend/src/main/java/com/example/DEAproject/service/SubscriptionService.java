@@ -1,10 +1,16 @@
 package com.example.DEAproject.service;
 
+import com.example.DEAproject.dto.BulkEnrollmentResult;
+import com.example.DEAproject.dto.CursorPage;
+import com.example.DEAproject.dto.SubscriptionFilter;
+import com.example.DEAproject.dto.SubscriptionView;
 import com.example.DEAproject.model.Subscription;
 import java.util.List;
 
 public interface SubscriptionService {
     Subscription subscribeUser(Long userId, Long planId, Long membershipId);
-    List<Subscription> getSubscriptionsByUser(Long userId);
-    List<Subscription> getAllSubscriptions();
+    BulkEnrollmentResult enrollUsers(List<Long> userIds, Long planId, Long membershipId);
+    List<SubscriptionView> getSubscriptionsByUser(Long userId);
+    List<SubscriptionView> getAllSubscriptions();
+    CursorPage<SubscriptionView> getSubscriptionsPage(SubscriptionFilter filter, String cursor, int size);
 }
@@ -1,31 +1,54 @@
 package com.example.DEAproject.service;
 
+import com.example.DEAproject.dto.BulkEnrollmentResult;
+import com.example.DEAproject.dto.CursorPage;
+import com.example.DEAproject.dto.SubscriptionCursor;
+import com.example.DEAproject.dto.SubscriptionFilter;
+import com.example.DEAproject.dto.SubscriptionView;
 import com.example.DEAproject.model.*;
 import com.example.DEAproject.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class SubscriptionServiceImpl implements SubscriptionService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int ENROLL_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
     private final PlanRepository planRepository;
     private final MembershipPlanRepository membershipPlanRepository;
+    private final ApplicationEventPublisher events;
 
     public SubscriptionServiceImpl(SubscriptionRepository subscriptionRepository,
                                    UserRepository userRepository,
                                    PlanRepository planRepository,
-                                   MembershipPlanRepository membershipPlanRepository) {
+                                   MembershipPlanRepository membershipPlanRepository,
+                                   ApplicationEventPublisher events) {
         this.subscriptionRepository = subscriptionRepository;
         this.userRepository = userRepository;
         this.planRepository = planRepository;
         this.membershipPlanRepository = membershipPlanRepository;
+        this.events = events;
     }
 
     @Override
+    @Transactional // the revenue rollup is updated in the same transaction
     public Subscription subscribeUser(Long userId, Long planId, Long membershipId) {
         // User check
         User user = userRepository.findById(userId)
@@ -42,23 +65,105 @@ public class SubscriptionServiceImpl implements SubscriptionService {
                     .orElseThrow(() -> new RuntimeException("Plan not found"));
         }
 
+        LocalDate today = LocalDate.now();
         Subscription subscription = new Subscription();
         subscription.setUser(user);
         subscription.setMembershipPlan(membership);
         subscription.setPlan(plan);
-        subscription.setStartDate(LocalDate.now());
-        subscription.setEndDate(LocalDate.now().plusMonths(membership.getDurationMonths()));
+        subscription.setStartDate(today);
+        subscription.setEndDate(today.plusMonths(membership.getDurationMonths()));
 
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        events.publishEvent(new SubscriptionCreatedEvent(List.of(SubscriptionCreatedEvent.Item.of(saved, userId))));
+        return saved;
     }
 
     @Override
-    public List<Subscription> getSubscriptionsByUser(Long userId) {
-        return subscriptionRepository.findByUserId(userId);
+    @Transactional
+    public BulkEnrollmentResult enrollUsers(List<Long> userIds, Long planId, Long membershipId) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("userIds must not be empty");
+        }
+        if (membershipId == null) {
+            throw new IllegalArgumentException("membershipId is required");
+        }
+
+        // Membership and plan are loaded once for the whole group; unknown ids are a bad request
+        MembershipPlan membership = membershipPlanRepository.findById(membershipId)
+                .orElseThrow(() -> new IllegalArgumentException("Membership not found"));
+        Plan plan = null;
+        if (planId != null) {
+            plan = planRepository.findById(planId)
+                    .orElseThrow(() -> new IllegalArgumentException("Plan not found"));
+        }
+
+        // One existence query per chunk of ids instead of a findById per user
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < requested.size(); from += ENROLL_CHUNK_SIZE) {
+            existing.addAll(userRepository.findExistingIds(requested.subList(from, Math.min(from + ENROLL_CHUNK_SIZE, requested.size()))));
+        }
+
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusMonths(membership.getDurationMonths());
+        double membershipPrice = membership.getPrice() != null ? membership.getPrice() : 0.0;
+        double planPrice = plan != null && plan.getPrice() != null ? plan.getPrice() : 0.0;
+
+        List<Long> missing = new ArrayList<>();
+        List<SubscriptionCreatedEvent.Item> created = new ArrayList<>();
+        int enrolled = 0;
+        for (Long userId : requested) {
+            if (!existing.contains(userId)) {
+                missing.add(userId);
+                continue;
+            }
+            Subscription subscription = new Subscription();
+            subscription.setUser(entityManager.getReference(User.class, userId)); // no select
+            subscription.setMembershipPlan(membership);
+            subscription.setPlan(plan);
+            subscription.setStartDate(startDate);
+            subscription.setEndDate(endDate);
+            entityManager.persist(subscription);
+            created.add(new SubscriptionCreatedEvent.Item(subscription.getId(), userId, membershipId, planId,
+                    startDate, endDate, membershipPrice, planPrice));
+
+            if (++enrolled % ENROLL_CHUNK_SIZE == 0) {
+                // Send the pending inserts and keep the persistence context small
+                entityManager.flush();
+                entityManager.clear();
+                membership = entityManager.getReference(MembershipPlan.class, membershipId);
+                plan = planId != null ? entityManager.getReference(Plan.class, planId) : null;
+            }
+        }
+        // Listeners that need committed rows use @TransactionalEventListener
+        events.publishEvent(new SubscriptionCreatedEvent(created));
+        return new BulkEnrollmentResult(enrolled, missing, startDate, endDate);
+    }
+
+    @Override
+    public List<SubscriptionView> getSubscriptionsByUser(Long userId) {
+        return subscriptionRepository.findViewsByUserId(userId);
     }
 
     @Override
-    public List<Subscription> getAllSubscriptions() {
-        return subscriptionRepository.findAll();
+    public List<SubscriptionView> getAllSubscriptions() {
+        return subscriptionRepository.findAllViews();
+    }
+
+    @Override
+    public CursorPage<SubscriptionView> getSubscriptionsPage(SubscriptionFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SubscriptionCursor after = (cursor == null || cursor.isBlank()) ? null : SubscriptionCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists, without a count query
+        List<SubscriptionView> rows = subscriptionRepository.findViews(
+                SubscriptionSpecifications.matching(filter, after, LocalDate.now()), pageSize + 1);
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<SubscriptionView> page = rows.subList(0, pageSize);
+        SubscriptionView last = page.get(pageSize - 1);
+        return new CursorPage<>(page, new SubscriptionCursor(last.getEndDate(), last.getId()).encode());
     }
 }
@@ -0,0 +1,306 @@
+package com.example.DEAproject.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Downscaled copies of stored photos at a fixed set of widths, kept in
+ * <uploads>/derivatives as <hash>-w<width>.<ext>. All widths for a photo are made
+ * from one decode on a small bounded pool, either right after upload or on the
+ * first request for a width. The directory is an LRU cache capped by total bytes.
+ * Originals narrower than a width are served as they are (no upscaling).
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    public static final int[] WIDTHS = {80, 160, 320, 640};
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final PhotoStorage photoStorage;
+    private final Path dir;
+    private final long maxCacheBytes;
+    private final long waitMillis;
+    private final ThreadPoolExecutor executor;
+
+    // One generation job per source photo at a time
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    // Original widths seen while generating, so small originals are not decoded again per request
+    private final Map<String, Integer> sourceWidths = new ConcurrentHashMap<>();
+
+    // Access-ordered file name -> size; guarded by this
+    private final LinkedHashMap<String, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    public ThumbnailService(PhotoStorage photoStorage,
+                            @Value("${photos.thumbnails.threads:2}") int threads,
+                            @Value("${photos.thumbnails.queue-capacity:64}") int queueCapacity,
+                            @Value("${photos.thumbnails.cache-max-bytes:268435456}") long maxCacheBytes,
+                            @Value("${photos.thumbnails.wait-ms:3000}") long waitMillis) throws IOException {
+        this.photoStorage = photoStorage;
+        this.dir = photoStorage.getDirectory().resolve("derivatives");
+        this.maxCacheBytes = maxCacheBytes;
+        this.waitMillis = waitMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "thumbnail-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Files.createDirectories(dir);
+        loadCacheIndex();
+    }
+
+    // Smallest configured width >= the requested one (the largest if none is)
+    public static int bucket(int requested) {
+        for (int w : WIDTHS) {
+            if (w >= requested) return w;
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    public static String derivativeName(String name, int width) {
+        int dot = name.lastIndexOf('.');
+        String ext = name.substring(dot + 1);
+        // Anything that is not PNG/GIF comes out as JPEG
+        String outExt = ext.equals("png") || ext.equals("gif") ? "png" : "jpg";
+        return name.substring(0, dot) + "-w" + width + "." + outExt;
+    }
+
+    // Kicks off generation of every width after an upload; best effort
+    public void generateAsync(String name) {
+        try {
+            startJob(name);
+        } catch (RejectedExecutionException e) {
+            log.atDebug().addKeyValue("photo", name).log("Thumbnail pool busy, generating lazily later");
+        }
+    }
+
+    /**
+     * The file to send for a photo at a bucketed width: a cached derivative, or the
+     * original when it is already small enough, when generation fails, or when the
+     * pool is saturated / slower than photos.thumbnails.wait-ms.
+     */
+    public Path resolve(String name, int width) {
+        Path original = photoStorage.resolve(name);
+        if (original == null) return null;
+        Integer sourceWidth = sourceWidths.get(name);
+        if (sourceWidth != null && width >= sourceWidth) return original;
+        String derivative = derivativeName(name, width);
+        Path file = dir.resolve(derivative);
+        if (touch(derivative) && Files.isRegularFile(file)) return file;
+
+        try {
+            startJob(name).get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException | TimeoutException e) {
+            return original;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return original;
+        } catch (ExecutionException e) {
+            log.atWarn().addKeyValue("photo", name).setCause(e.getCause()).log("Thumbnail generation failed");
+            return original;
+        }
+        return touch(derivative) && Files.isRegularFile(file) ? file : original;
+    }
+
+    private CompletableFuture<Void> startJob(String name) {
+        CompletableFuture<Void> job = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(name, job);
+        if (existing != null) return existing;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(name);
+                    job.complete(null);
+                } catch (Throwable t) {
+                    job.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(name, job);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(name, job);
+            throw e;
+        }
+        return job;
+    }
+
+    private void generate(String name) throws IOException {
+        Path original = photoStorage.resolve(name);
+        if (original == null) return;
+        BufferedImage source = decode(name, original, WIDTHS[WIDTHS.length - 1]);
+        if (source == null) throw new IOException("Unreadable image " + name);
+        int sourceWidth = sourceWidths.get(name);
+
+        // Largest first, each step scaled from the previous one (cheap, and sharp enough at 2x steps)
+        BufferedImage current = source;
+        for (int i = WIDTHS.length - 1; i >= 0; i--) {
+            int width = WIDTHS[i];
+            if (width >= sourceWidth) continue;
+            String derivative = derivativeName(name, width);
+            if (Files.isRegularFile(dir.resolve(derivative))) continue;
+            current = scale(current, width);
+            write(current, derivative);
+        }
+    }
+
+    // Decodes with source subsampling so a multi-megapixel original is never held at full size
+    private BufferedImage decode(String name, Path file, int maxWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                sourceWidths.put(name, width);
+                int step = Math.max(1, width / (maxWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage src, int width) {
+        int height = Math.max(1, (int) Math.round((double) src.getHeight() * width / src.getWidth()));
+        boolean alpha = src.getColorModel().hasAlpha();
+        BufferedImage out = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private void write(BufferedImage image, String derivative) throws IOException {
+        Path temp = Files.createTempFile(dir, "thumb-", ".tmp");
+        try {
+            if (derivative.endsWith(".png")) {
+                ImageIO.write(image, "png", temp.toFile());
+            } else {
+                ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+                try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                    writer.setOutput(out);
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(JPEG_QUALITY);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                } finally {
+                    writer.dispose();
+                }
+            }
+            Files.move(temp, dir.resolve(derivative), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            added(derivative, Files.size(dir.resolve(derivative)));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private synchronized boolean touch(String derivative) {
+        return lru.get(derivative) != null;
+    }
+
+    private void added(String derivative, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = lru.put(derivative, size);
+            cachedBytes += size - (previous != null ? previous : 0);
+            for (Iterator<Map.Entry<String, Long>> it = lru.entrySet().iterator();
+                 cachedBytes > maxCacheBytes && it.hasNext(); ) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(derivative)) continue;
+                cachedBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String name : evicted) {
+            try {
+                Files.deleteIfExists(dir.resolve(name));
+            } catch (IOException e) {
+                log.atWarn().addKeyValue("file", name).setCause(e).log("Could not evict thumbnail");
+            }
+        }
+    }
+
+    // Rebuilds the LRU from disk at startup, oldest modification first
+    private void loadCacheIndex() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparingLong(ThumbnailService::lastModified))
+                    .forEach(p -> {
+                        try {
+                            added(p.getFileName().toString(), Files.size(p));
+                        } catch (IOException e) {
+                            log.atWarn().addKeyValue("file", p).setCause(e).log("Skipping unreadable thumbnail");
+                        }
+                    });
+        }
+    }
+
+    private static long lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public synchronized Map<String, Long> stats() {
+        return Map.of("files", (long) lru.size(), "bytes", cachedBytes, "maxBytes", maxCacheBytes,
+                "queued", (long) executor.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
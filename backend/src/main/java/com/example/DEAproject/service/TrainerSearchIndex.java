@@ -0,0 +1,222 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.TrainerSearchHit;
+import com.example.DEAproject.dto.TrainerSearchSource;
+import com.example.DEAproject.dto.TrainerSummary;
+import com.example.DEAproject.model.Trainer;
+import com.example.DEAproject.repository.TrainerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over trainer name, specialization and description.
+ * Each query term matches indexed terms exactly, by prefix (sorted term
+ * dictionary) or, for longer terms, within a small edit distance; every query
+ * term has to match. Hits are ranked by field weight x idf. TrainerServiceImpl
+ * keeps it in sync on add/update/delete.
+ */
+@Component
+public class TrainerSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double SPECIALIZATION_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double FUZZY_FACTOR = 0.5;
+
+    private final TrainerRepository trainerRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (trainerId -> weight); sorted so prefixes are a subMap
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByTrainer = new HashMap<>();
+    private final Map<Long, TrainerSummary> summaries = new HashMap<>();
+
+    public TrainerSearchIndex(TrainerRepository trainerRepository) {
+        this.trainerRepository = trainerRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<TrainerSearchSource> rows = trainerRepository.findAllProjectedBy();
+        lock.writeLock().lock();
+        try {
+            for (TrainerSearchSource t : rows) {
+                index(t.getId(), t.getName(), t.getSpecialization(), t.getDescription(), t.getExperience(), t.getPhotoPath());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.atInfo().addKeyValue("trainers", rows.size()).addKeyValue("terms", postings.size()).log("Trainer search index loaded");
+    }
+
+    public void put(Trainer t) {
+        lock.writeLock().lock();
+        try {
+            index(t.getId(), t.getName(), t.getSpecialization(), t.getDescription(), t.getExperience(), t.getPhotoPath());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<TrainerSearchHit> search(String query, Integer minExperience, Integer maxExperience, int limit) {
+        List<String> terms = query == null ? List.of() : tokenize(query);
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores;
+            if (terms.isEmpty()) {
+                scores = new HashMap<>();
+                for (Long id : summaries.keySet()) scores.put(id, 0.0);
+            } else {
+                scores = null;
+                for (String term : new HashSet<>(terms)) {
+                    Map<Long, Double> matches = match(term);
+                    if (scores == null) {
+                        scores = matches;
+                    } else {
+                        scores.keySet().retainAll(matches.keySet());
+                        scores.replaceAll((id, s) -> s + matches.get(id));
+                    }
+                    if (scores.isEmpty()) return List.of();
+                }
+            }
+
+            List<TrainerSearchHit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                TrainerSummary summary = summaries.get(e.getKey());
+                Integer experience = summary.getExperience();
+                if (minExperience != null && (experience == null || experience < minExperience)) continue;
+                if (maxExperience != null && (experience == null || experience > maxExperience)) continue;
+                hits.add(new TrainerSearchHit(summary, Math.round(e.getValue() * 1000) / 1000.0));
+            }
+            hits.sort(Comparator.comparingDouble(TrainerSearchHit::getScore).reversed()
+                    .thenComparing(h -> h.getTrainer().getName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+            return hits.size() > limit ? hits.subList(0, limit) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best weight per trainer for one query term; callers hold the read lock
+    private Map<Long, Double> match(String term) {
+        Map<Long, Double> best = new HashMap<>();
+        Map<Long, Double> exact = postings.get(term);
+        if (exact != null) collect(best, exact, idf(exact));
+
+        for (Map.Entry<String, Map<Long, Double>> e : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+            collect(best, e.getValue(), idf(e.getValue()) * PREFIX_FACTOR);
+        }
+
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0 && best.isEmpty()) {
+            for (Map.Entry<String, Map<Long, Double>> e : postings.entrySet()) {
+                String candidate = e.getKey();
+                if (Math.abs(candidate.length() - term.length()) <= maxEdits && withinEdits(term, candidate, maxEdits)) {
+                    collect(best, e.getValue(), idf(e.getValue()) * FUZZY_FACTOR);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static void collect(Map<Long, Double> best, Map<Long, Double> posting, double factor) {
+        posting.forEach((id, weight) -> best.merge(id, weight * factor, Math::max));
+    }
+
+    private double idf(Map<Long, Double> posting) {
+        return Math.log(1.0 + (double) summaries.size() / posting.size());
+    }
+
+    private void index(Long id, String name, String specialization, String description, Integer experience, String photoPath) {
+        unindex(id);
+        Map<String, Double> weights = new HashMap<>();
+        addField(weights, name, NAME_WEIGHT);
+        addField(weights, specialization, SPECIALIZATION_WEIGHT);
+        addField(weights, description, DESCRIPTION_WEIGHT);
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(id, weight));
+        termsByTrainer.put(id, weights.keySet());
+        summaries.put(id, new TrainerSummary(id, name, specialization, experience, photoPath));
+    }
+
+    private void unindex(Long id) {
+        Set<String> terms = termsByTrainer.remove(id);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<Long, Double> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+        summaries.remove(id);
+    }
+
+    private static void addField(Map<String, Double> weights, String text, double weight) {
+        if (text == null) return;
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Double::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (token.length() >= 2) terms.add(token);
+        }
+        return terms;
+    }
+
+    // Optimal string alignment distance <= max, giving up as soon as a row exceeds it
+    static boolean withinEdits(String a, String b, int max) {
+        int[] prev2 = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, prev2[j - 2] + 1);
+                }
+                cur[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) return false;
+            int[] t = prev2; prev2 = prev; prev = cur; cur = t;
+        }
+        return prev[b.length()] <= max;
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.DEAproject.service;
 
+import com.example.DEAproject.dto.FieldSet;
+import com.example.DEAproject.dto.TrainerSearchHit;
 import com.example.DEAproject.model.Trainer;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface TrainerService {
     Trainer addTrainer(Trainer trainer);
     List<Trainer> getAllTrainers();
+    List<Map<String, Object>> getAllTrainers(FieldSet fields);
+    List<TrainerSearchHit> searchTrainers(String query, Integer minExperience, Integer maxExperience, int limit);
     Optional<Trainer> getTrainerById(Long id);
     Trainer updateTrainer(Long id, Trainer trainer);
+    Trainer updatePhoto(Long id, String photoPath);
     void deleteTrainer(Long id);
 }
@@ -1,22 +1,109 @@
 package com.example.DEAproject.service;
 
+import com.example.DEAproject.dto.FieldSet;
+import com.example.DEAproject.dto.TrainerSearchHit;
 import com.example.DEAproject.model.Trainer;
+import com.example.DEAproject.repository.SparseFieldQuery;
 import com.example.DEAproject.repository.TrainerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TrainerServiceImpl implements TrainerService {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainerServiceImpl.class);
+
+    private static final String DATA_URL_PREFIX = "data:image/";
+
+    // Fields selectable with ?fields=; photoUrl is derived from the photo_path column
+    public static final Set<String> SELECTABLE_FIELDS = Set.of(
+            "id", "name", "specialization", "email", "phone", "description", "experience", "photoUrl");
+
     @Autowired
     private TrainerRepository trainerRepository;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private TrainerSearchIndex searchIndex;
+
+    @Autowired
+    private PhotoStorage photoStorage;
+
+    @Autowired
+    private SparseFieldQuery sparseFieldQuery;
+
+    // Moves base64 photos still stored in the trainers table into PhotoStorage
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInlinePhotos() {
+        List<Trainer> inline = trainerRepository.findByPhotoStartingWith(DATA_URL_PREFIX);
+        for (Trainer trainer : inline) {
+            try {
+                storeInlinePhoto(trainer);
+                trainerRepository.save(trainer);
+            } catch (RuntimeException e) {
+                log.atWarn().addKeyValue("trainerId", trainer.getId()).setCause(e).log("Inline photo could not be migrated");
+            }
+        }
+        if (!inline.isEmpty()) {
+            catalogCache.invalidate(CatalogCache.Catalog.TRAINERS);
+            log.atInfo().addKeyValue("trainers", inline.size()).log("Inline trainer photos moved to photo storage");
+        }
+    }
+
+    // Copies photo files referenced by pre-PhotoStorage paths (e.g. uploads/trainers/x.jpg)
+    // into PhotoStorage. Paths whose file is gone are left as is; they have no photoUrl.
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPhotoPaths() {
+        int migrated = 0;
+        for (Trainer trainer : trainerRepository.findAll()) {
+            String path = trainer.getPhotoPath();
+            if (path == null || PhotoStorage.isStoredName(path)) continue;
+            Path legacy = Path.of(path);
+            if (!Files.isRegularFile(legacy)) {
+                log.atWarn().addKeyValue("trainerId", trainer.getId()).addKeyValue("photo", path).log("Legacy photo file not found");
+                continue;
+            }
+            try (InputStream in = Files.newInputStream(legacy)) {
+                trainer.setPhotoPath(photoStorage.store(in));
+                searchIndex.put(trainerRepository.save(trainer));
+                migrated++;
+            } catch (IOException | RuntimeException e) {
+                log.atWarn().addKeyValue("trainerId", trainer.getId()).setCause(e).log("Legacy photo could not be migrated");
+            }
+        }
+        if (migrated > 0) {
+            catalogCache.invalidate(CatalogCache.Catalog.TRAINERS);
+            catalogCache.invalidate(CatalogCache.Catalog.PLANS);
+            log.atInfo().addKeyValue("trainers", migrated).log("Legacy trainer photo paths moved to photo storage");
+        }
+    }
+
     @Override
     public Trainer addTrainer(Trainer trainer) {
-        return trainerRepository.save(trainer);
+        trainer.setPhotoPath(null); // set only from an upload or an inline photo below
+        storeInlinePhoto(trainer);
+        Trainer saved = trainerRepository.save(trainer);
+        catalogCache.invalidate(CatalogCache.Catalog.TRAINERS);
+        searchIndex.put(saved);
+        return saved;
     }
 
     @Override
@@ -24,6 +111,24 @@ public class TrainerServiceImpl implements TrainerService {
         return trainerRepository.findAll();
     }
 
+    @Override
+    public List<Map<String, Object>> getAllTrainers(FieldSet fields) {
+        List<String> attributes = new ArrayList<>(fields.getNames());
+        attributes.replaceAll(f -> f.equals("photoUrl") ? "photoPath" : f);
+        List<Map<String, Object>> rows = sparseFieldQuery.select(Trainer.class, attributes, null, Sort.unsorted());
+        if (fields.contains("photoUrl")) {
+            for (Map<String, Object> row : rows) {
+                row.put("photoUrl", Trainer.photoUrl((String) row.remove("photoPath")));
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<TrainerSearchHit> searchTrainers(String query, Integer minExperience, Integer maxExperience, int limit) {
+        return searchIndex.search(query, minExperience, maxExperience, limit);
+    }
+
     @Override
     public Optional<Trainer> getTrainerById(Long id) {
         return trainerRepository.findById(id);
@@ -38,14 +143,48 @@ public class TrainerServiceImpl implements TrainerService {
             if (trainer.getPhone() != null) existing.setPhone(trainer.getPhone());
             if (trainer.getDescription() != null) existing.setDescription(trainer.getDescription());
             if (trainer.getExperience() != null) existing.setExperience(trainer.getExperience());
-            if (trainer.getPhotoPath() != null) existing.setPhotoPath(trainer.getPhotoPath());
-            if (trainer.getPhoto() != null) existing.setPhoto(trainer.getPhoto());
-            return trainerRepository.save(existing);
+            if (trainer.getPhoto() != null) {
+                existing.setPhoto(trainer.getPhoto());
+                storeInlinePhoto(existing);
+            }
+            Trainer saved = trainerRepository.save(existing);
+            catalogCache.invalidate(CatalogCache.Catalog.TRAINERS);
+            catalogCache.invalidate(CatalogCache.Catalog.PLANS); // plans embed a trainer summary
+            searchIndex.put(saved);
+            return saved;
+        }).orElseThrow(() -> new RuntimeException("Trainer not found with id " + id));
+    }
+
+    @Override
+    public Trainer updatePhoto(Long id, String photoPath) {
+        return trainerRepository.findById(id).map(existing -> {
+            existing.setPhotoPath(photoPath);
+            existing.setPhoto(null);
+            Trainer saved = trainerRepository.save(existing);
+            catalogCache.invalidate(CatalogCache.Catalog.TRAINERS);
+            catalogCache.invalidate(CatalogCache.Catalog.PLANS);
+            searchIndex.put(saved);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Trainer not found with id " + id));
     }
 
     @Override
     public void deleteTrainer(Long id) {
         trainerRepository.deleteById(id);
+        catalogCache.invalidate(CatalogCache.Catalog.TRAINERS);
+        catalogCache.invalidate(CatalogCache.Catalog.PLANS);
+        searchIndex.remove(id);
+    }
+
+    // A data URL in Trainer.photo becomes a stored file referenced by photoPath
+    private void storeInlinePhoto(Trainer trainer) {
+        String photo = trainer.getPhoto();
+        if (photo == null || !photo.startsWith(DATA_URL_PREFIX)) return;
+        try {
+            trainer.setPhotoPath(photoStorage.storeDataUrl(photo));
+            trainer.setPhoto(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
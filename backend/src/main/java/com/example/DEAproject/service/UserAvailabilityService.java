@@ -0,0 +1,125 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.UserContact;
+import com.example.DEAproject.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Answers "is this username / email free?" from two Bloom filters. A miss is
+ * definite and costs no query; only a possible hit is confirmed with an indexed
+ * lookup. Keys are lowercased because the MySQL collation compares them
+ * case-insensitively. Until the filters are loaded, every check goes to the DB.
+ * Users created on other nodes are not seen here; their inserts still fail on
+ * the unique constraints (409).
+ */
+@Service
+public class UserAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {}
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Filters filters;
+    private volatile Filters building; // being loaded; record() writes here too so nothing committed mid-scan is lost
+
+    public UserAvailabilityService(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                                   @Value("${users.bloom.expected-insertions:1000000}") long expectedUsers,
+                                   @Value("${users.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        long count = userRepository.count();
+        long capacity = Math.max(expectedUsers, count * 2);
+        Filters loaded = new Filters(new BloomFilter(capacity, falsePositiveRate), new BloomFilter(capacity, falsePositiveRate));
+        // Published before the scan: a user committed after the scan's snapshot is recorded here by record()
+        building = loaded;
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<UserContact> users = userRepository.streamContacts()) {
+                    users.forEach(u -> {
+                        loaded.usernames().put(key(u.getUsername()));
+                        loaded.emails().put(key(u.getEmail()));
+                    });
+                }
+            });
+            // Swap before clearing building, so record() always reaches one of them (it reads building first)
+            filters = loaded;
+        } finally {
+            building = null;
+        }
+        log.atInfo().addKeyValue("users", loaded.usernames().getInsertions()).addKeyValue("capacity", capacity)
+                .addKeyValue("millis", System.currentTimeMillis() - started).log("Username/email bloom filters loaded");
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        Filters f = filters;
+        if (f != null && !f.usernames().mightContain(key(username))) return true;
+        return !userRepository.existsByUsername(username.trim());
+    }
+
+    public boolean isEmailAvailable(String email) {
+        Filters f = filters;
+        if (f != null && !f.emails().mightContain(key(email))) return true;
+        return !userRepository.existsByEmail(email.trim());
+    }
+
+    // Called after a user row is committed; adds to the live filters and to any being loaded
+    public void record(String username, String email) {
+        Filters b = building;
+        if (b != null) {
+            b.usernames().put(key(username));
+            b.emails().put(key(email));
+        }
+        Filters f = filters;
+        if (f == null) return;
+        f.usernames().put(key(username));
+        f.emails().put(key(email));
+        if (f.usernames().isSaturated() && rebuilding.compareAndSet(false, true)) {
+            Thread rebuild = new Thread(() -> {
+                try {
+                    load();
+                } finally {
+                    rebuilding.set(false);
+                }
+            }, "bloom-rebuild");
+            rebuild.setDaemon(true);
+            rebuild.start();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Filters f = filters;
+        if (f == null) return Map.of("loaded", false);
+        return Map.of("loaded", true, "entries", f.usernames().getInsertions(),
+                "bitsPerFilter", f.usernames().getBitCount(), "hashes", f.usernames().getHashes());
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
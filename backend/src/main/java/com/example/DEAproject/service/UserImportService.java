@@ -0,0 +1,301 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.UserDTO;
+import com.example.DEAproject.dto.UserImportResult;
+import com.example.DEAproject.dto.UserImportResult.Status;
+import com.example.DEAproject.model.Role;
+import com.example.DEAproject.model.User;
+import com.example.DEAproject.repository.RoleRepository;
+import com.example.DEAproject.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Registers many users in one call: uniqueness is checked with set-based
+ * queries, passwords are hashed in parallel on a dedicated pool (so imports
+ * never compete with the login hashing pool), and rows are persisted one
+ * transaction per chunk so Hibernate sends them as JDBC batches. A failing
+ * chunk is retried row by row, so the report says exactly what was committed.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate tx;
+    private final Validator validator;
+    private final UserAvailabilityService availability;
+    private final ForkJoinPool hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public UserImportService(UserRepository userRepository, RoleRepository roleRepository,
+                             PasswordEncoder passwordEncoder,
+                             PlatformTransactionManager transactionManager, Validator validator,
+                             UserAvailabilityService availability) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.availability = availability;
+    }
+
+    public UserImportResult importUsers(List<UserDTO> users, String roleName) {
+        long started = System.currentTimeMillis();
+        Role role = roleRepository.findByName(roleName)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
+
+        UserImportResult.Row[] report = new UserImportResult.Row[users.size()];
+        List<Integer> accepted = validateAndDedupe(users, report);
+
+        // Hash only the rows that will actually be inserted
+        List<String> hashes = hashAll(accepted.stream().map(i -> users.get(i).getPassword()).toList());
+
+        int created = 0;
+        for (int from = 0; from < accepted.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + CHUNK_SIZE, accepted.size()));
+            List<String> chunkHashes = hashes.subList(from, from + chunk.size());
+            created += insertChunk(users, chunk, chunkHashes, role, report);
+        }
+
+        log.atInfo().addKeyValue("total", users.size()).addKeyValue("created", created)
+                .addKeyValue("millis", System.currentTimeMillis() - started).log("User import finished");
+        return new UserImportResult(users.size(), created, System.currentTimeMillis() - started, List.of(report));
+    }
+
+    private List<Integer> validateAndDedupe(List<UserDTO> users, UserImportResult.Row[] report) {
+        List<Integer> valid = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int i = 0; i < users.size(); i++) {
+            UserDTO dto = users.get(i);
+            Set<ConstraintViolation<UserDTO>> violations = dto == null ? Set.of() : validator.validate(dto);
+            if (dto == null || !violations.isEmpty()) {
+                String message = dto == null ? "Empty row" : violations.stream()
+                        .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+                report[i] = new UserImportResult.Row(i + 1, dto == null ? null : dto.getUsername(), Status.INVALID, message);
+                continue;
+            }
+            // Unique columns use MySQL's case-insensitive collation, so compare lower-cased
+            if (!seenUsernames.add(key(dto.getUsername()))) {
+                report[i] = new UserImportResult.Row(i + 1, dto.getUsername(), Status.DUPLICATE, "Username repeated in upload");
+            } else if (!seenEmails.add(key(dto.getEmail()))) {
+                report[i] = new UserImportResult.Row(i + 1, dto.getUsername(), Status.DUPLICATE, "Email repeated in upload");
+            } else {
+                valid.add(i);
+            }
+        }
+
+        Set<String> takenUsernames = existing(valid.stream().map(i -> users.get(i).getUsername()).toList(), true);
+        Set<String> takenEmails = existing(valid.stream().map(i -> users.get(i).getEmail()).toList(), false);
+
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        for (int i : valid) {
+            UserDTO dto = users.get(i);
+            if (takenUsernames.contains(key(dto.getUsername()))) {
+                report[i] = new UserImportResult.Row(i + 1, dto.getUsername(), Status.DUPLICATE, "Username already exists");
+            } else if (takenEmails.contains(key(dto.getEmail()))) {
+                report[i] = new UserImportResult.Row(i + 1, dto.getUsername(), Status.DUPLICATE, "Email already exists");
+            } else {
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    private Set<String> existing(List<String> values, boolean usernames) {
+        Set<String> taken = new HashSet<>();
+        for (int from = 0; from < values.size(); from += CHUNK_SIZE) {
+            List<String> chunk = values.subList(from, Math.min(from + CHUNK_SIZE, values.size()));
+            List<String> found = usernames ? userRepository.findExistingUsernames(chunk) : userRepository.findExistingEmails(chunk);
+            found.forEach(v -> taken.add(key(v)));
+        }
+        return taken;
+    }
+
+    private List<String> hashAll(List<String> passwords) {
+        if (passwords.isEmpty()) return List.of();
+        try {
+            return hashingPool.submit(() -> passwords.parallelStream().map(passwordEncoder::encode).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private int insertChunk(List<UserDTO> users, List<Integer> chunk, List<String> hashes, Role role,
+                            UserImportResult.Row[] report) {
+        try {
+            tx.executeWithoutResult(status -> insertRows(users, chunk, hashes, role));
+            for (int i : chunk) {
+                report[i] = new UserImportResult.Row(i + 1, users.get(i).getUsername(), Status.CREATED, null);
+                availability.record(users.get(i).getUsername(), users.get(i).getEmail());
+            }
+            return chunk.size();
+        } catch (RuntimeException e) {
+            // Earlier chunks are committed, so don't abort the import: retry this chunk row by row and report
+            // each row (typically someone registered one of these names after our uniqueness check)
+            log.atInfo().addKeyValue("rows", chunk.size()).addKeyValue("error", e.getClass().getSimpleName())
+                    .log("Import chunk failed, retrying row by row");
+            int created = 0;
+            for (int k = 0; k < chunk.size(); k++) {
+                int i = chunk.get(k);
+                List<String> rowHash = hashes.subList(k, k + 1);
+                try {
+                    tx.executeWithoutResult(status -> insertRows(users, List.of(i), rowHash, role));
+                    report[i] = new UserImportResult.Row(i + 1, users.get(i).getUsername(), Status.CREATED, null);
+                    availability.record(users.get(i).getUsername(), users.get(i).getEmail());
+                    created++;
+                } catch (RuntimeException rowError) {
+                    report[i] = failedRow(i, users.get(i), rowError);
+                }
+            }
+            return created;
+        }
+    }
+
+    private void insertRows(List<UserDTO> users, List<Integer> rows, List<String> hashes, Role role) {
+        Role roleRef = entityManager.getReference(Role.class, role.getId());
+        for (int k = 0; k < rows.size(); k++) {
+            UserDTO dto = users.get(rows.get(k));
+            User user = new User();
+            user.setUsername(dto.getUsername());
+            user.setEmail(dto.getEmail());
+            user.setPassword(hashes.get(k));
+            user.setPhone(dto.getPhone());
+            user.getRoles().add(roleRef);
+            entityManager.persist(user);
+        }
+        // users and user_roles go out as two batched statements; clearing keeps the context small
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // Like UserServiceImpl.createUser: a constraint violation is a duplicate only if the username or
+    // email is now taken; anything else (NOT NULL, column length) is logged, not shown to the uploader
+    private UserImportResult.Row failedRow(int i, UserDTO dto, RuntimeException e) {
+        if (isConstraintViolation(e)) {
+            if (userRepository.existsByUsername(dto.getUsername())) {
+                return new UserImportResult.Row(i + 1, dto.getUsername(), Status.DUPLICATE, "Username already exists");
+            }
+            if (userRepository.existsByEmail(dto.getEmail())) {
+                return new UserImportResult.Row(i + 1, dto.getUsername(), Status.DUPLICATE, "Email already exists");
+            }
+        }
+        log.atWarn().addKeyValue("row", i + 1).setCause(e).log("Import row could not be saved");
+        return new UserImportResult.Row(i + 1, dto.getUsername(), Status.ERROR, "Could not be saved");
+    }
+
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DataIntegrityViolationException
+                    || t instanceof org.hibernate.exception.ConstraintViolationException
+                    || t instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Expects a header row; recognised columns are username, email, password, phone (any order)
+    public static List<UserDTO> parseCsv(Reader reader) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        String header = in.readLine();
+        if (header == null) return List.of();
+        List<String> columns = splitCsvLine(header).stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+        int username = columns.indexOf("username");
+        int email = columns.indexOf("email");
+        int password = columns.indexOf("password");
+        int phone = columns.indexOf("phone");
+        if (username < 0 || email < 0 || password < 0) {
+            throw new IllegalArgumentException("CSV header must contain username, email and password");
+        }
+
+        List<UserDTO> users = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+            List<String> cells = splitCsvLine(line);
+            UserDTO dto = new UserDTO(cell(cells, username), cell(cells, email), cell(cells, password));
+            dto.setPhone(phone >= 0 ? cell(cells, phone) : null);
+            users.add(dto);
+        }
+        return users;
+    }
+
+    private static String cell(List<String> cells, int index) {
+        if (index >= cells.size()) return null;
+        String value = cells.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        cells.add(current.toString());
+        return cells;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.DEAproject.service;
 
+import com.example.DEAproject.dto.CursorPage;
+import com.example.DEAproject.dto.FieldSet;
 import com.example.DEAproject.dto.UserDTO;
+import com.example.DEAproject.dto.UserDirectoryEntry;
 import com.example.DEAproject.model.User;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface UserService {
     User registerUser(UserDTO userDTO, String roleName);
+    User createUser(User user);
     Optional<User> loginUser(String username, String password);
     List<User> getAllUsers();
+    List<Map<String, Object>> getAllUsers(FieldSet fields);
+    CursorPage<UserDirectoryEntry> getDirectory(String query, String role, String sort, String cursor, int size);
     void deleteUser(Long id);
 }
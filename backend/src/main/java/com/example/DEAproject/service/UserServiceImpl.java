@@ -1,20 +1,38 @@
 package com.example.DEAproject.service;
 
+import com.example.DEAproject.dto.CursorPage;
+import com.example.DEAproject.dto.FieldSet;
+import com.example.DEAproject.dto.UserCursor;
 import com.example.DEAproject.dto.UserDTO;
+import com.example.DEAproject.dto.UserDirectoryEntry;
 import com.example.DEAproject.model.Role;
 import com.example.DEAproject.model.User;
 import com.example.DEAproject.repository.RoleRepository;
+import com.example.DEAproject.repository.SparseFieldQuery;
 import com.example.DEAproject.repository.UserRepository;
+import com.example.DEAproject.security.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    // Fields selectable with ?fields=; password is never selectable, roles come from user_roles
+    public static final Set<String> SELECTABLE_FIELDS = Set.of("id", "username", "email", "phone", "roles");
+
+    private static final Set<String> DIRECTORY_SORTS = Set.of("username", "email", "id");
+    private static final int MAX_DIRECTORY_PAGE = 200;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -24,15 +42,17 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHashingExecutor hashing;
+
+    @Autowired
+    private SparseFieldQuery sparseFieldQuery;
+
+    @Autowired
+    private UserAvailabilityService availability;
+
     @Override
     public User registerUser(UserDTO userDTO, String roleName) {
-        if(userRepository.findByUsername(userDTO.getUsername()).isPresent()) {
-            throw new RuntimeException("Username already exists");
-        }
-        if(userRepository.findByEmail(userDTO.getEmail()).isPresent()) {
-            throw new RuntimeException("Email already exists");
-        }
-
         User user = new User();
         user.setUsername(userDTO.getUsername());
         user.setEmail(userDTO.getEmail());
@@ -43,13 +63,29 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
         user.getRoles().add(role);
 
-        return userRepository.save(user);
+        return createUser(user);
+    }
+
+    // One INSERT; the unique keys on username/email decide duplicates instead of two lookups first
+    @Override
+    public User createUser(User user) {
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Failure path only: find out which key was hit; anything else (NOT NULL, FK) is not a duplicate
+            if (userRepository.existsByUsername(user.getUsername())) throw new DuplicateUserException("username");
+            if (userRepository.existsByEmail(user.getEmail())) throw new DuplicateUserException("email");
+            throw e;
+        }
+        availability.record(saved.getUsername(), saved.getEmail());
+        return saved;
     }
 
     @Override
     public Optional<User> loginUser(String username, String password) {
         return userRepository.findByUsername(username)
-                .filter(user -> passwordEncoder.matches(password, user.getPassword())); // MATCH ENCODED
+                .filter(user -> hashing.matches(password, user.getPassword())); // MATCH ENCODED (bounded pool)
     }
 
     @Override
@@ -57,6 +93,60 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public List<Map<String, Object>> getAllUsers(FieldSet fields) {
+        List<String> columns = new ArrayList<>(fields.getNames());
+        columns.remove("roles");
+        List<Map<String, Object>> rows = sparseFieldQuery.select(User.class, columns, null, Sort.unsorted());
+        if (fields.contains("roles")) {
+            // One query for all (user, role) pairs instead of the eager per-user role load
+            Map<Long, List<String>> roles = new HashMap<>();
+            for (Object[] pair : userRepository.findAllRoleNames()) {
+                roles.computeIfAbsent((Long) pair[0], k -> new ArrayList<>()).add((String) pair[1]);
+            }
+            rows.forEach(row -> row.put("roles", roles.getOrDefault((Long) row.get("id"), List.of())));
+        }
+        return rows;
+    }
+
+    @Override
+    public CursorPage<UserDirectoryEntry> getDirectory(String query, String role, String sort, String cursor, int size) {
+        boolean descending = sort.startsWith("-");
+        String property = descending ? sort.substring(1) : sort;
+        if (!DIRECTORY_SORTS.contains(property)) {
+            throw new IllegalArgumentException("sort must be one of " + DIRECTORY_SORTS + ", optionally prefixed with -");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE));
+        String prefix = query != null && !query.isBlank() ? query.trim() : null;
+        UserCursor after = cursor != null ? UserCursor.decode(cursor) : null;
+
+        // One extra row tells whether another page exists
+        List<UserDirectoryEntry> rows = userRepository.findDirectory(prefix, role, property, descending, after, pageSize + 1);
+        boolean more = rows.size() > pageSize;
+        List<UserDirectoryEntry> page = more ? rows.subList(0, pageSize) : rows;
+
+        // Roles for the whole page in one query
+        if (!page.isEmpty()) {
+            Map<Long, List<String>> roles = new HashMap<>();
+            for (Object[] pair : userRepository.findRoleNames(page.stream().map(UserDirectoryEntry::getId).toList())) {
+                roles.computeIfAbsent((Long) pair[0], k -> new ArrayList<>()).add((String) pair[1]);
+            }
+            page.forEach(e -> e.setRoles(roles.getOrDefault(e.getId(), List.of())));
+        }
+
+        String next = null;
+        if (more) {
+            UserDirectoryEntry last = page.get(page.size() - 1);
+            String key = switch (property) {
+                case "username" -> last.getUsername();
+                case "email" -> last.getEmail();
+                default -> "";
+            };
+            next = new UserCursor(key, last.getId()).encode();
+        }
+        return new CursorPage<>(new ArrayList<>(page), next);
+    }
+
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
@@ -0,0 +1,46 @@
+package com.example.DEAproject.config;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Statement budgets for tests, so an N+1 regression fails the build instead of
+ * showing up in production:
+ *
+ *   try (RequestDbStats stats = QueryBudget.record()) {
+ *       mockMvc.perform(get("/api/subscriptions/user/{id}", id));
+ *       QueryBudget.assertAtMost(2, stats);
+ *   }
+ *
+ * Only statements prepared by Hibernate are counted (see QueryCounter);
+ * plain JdbcTemplate calls are not.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    // Counts every statement run on this thread until the returned scope is closed
+    public static RequestDbStats record() {
+        return RequestDbStats.record();
+    }
+
+    public static void assertAtMost(int max, RequestDbStats stats) {
+        if (stats.getStatements() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + stats.getStatements()
+                    + " were run:\n  " + String.join("\n  ", stats.getSql()));
+        }
+    }
+
+    // Checks the X-Query-Count header; needs db.query-count.headers=true
+    public static ResultMatcher atMost(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryCountHeaderAdvice.QUERY_COUNT);
+            if (header == null) {
+                throw new AssertionError("No " + QueryCountHeaderAdvice.QUERY_COUNT + " header; is db.query-count.headers on?");
+            }
+            if (Integer.parseInt(header) > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements but the response reports " + header);
+            }
+        };
+    }
+}
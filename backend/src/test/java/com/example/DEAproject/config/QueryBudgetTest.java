@@ -0,0 +1,107 @@
+package com.example.DEAproject.config;
+
+import com.example.DEAproject.model.MembershipPlan;
+import com.example.DEAproject.model.Plan;
+import com.example.DEAproject.model.Subscription;
+import com.example.DEAproject.model.User;
+import com.example.DEAproject.repository.MembershipPlanRepository;
+import com.example.DEAproject.repository.PlanRepository;
+import com.example.DEAproject.repository.SubscriptionRepository;
+import com.example.DEAproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "db.query-count.headers=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class QueryBudgetTest {
+
+    private static final int SUBSCRIPTIONS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private MembershipPlanRepository membershipPlanRepository;
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+    @Autowired
+    private TransactionTemplate tx;
+
+    private Long userId;
+
+    @BeforeEach
+    void subscribeAdmin() {
+        User user = userRepository.findByUsername("admin").orElseThrow();
+        userId = user.getId();
+        if (!subscriptionRepository.findViewsByUserId(userId).isEmpty()) return;
+
+        MembershipPlan membership = new MembershipPlan();
+        membership.setName("Monthly");
+        membership.setPrice(49.0);
+        membership.setDurationMonths(1);
+        membershipPlanRepository.save(membership);
+        List<Plan> plans = planRepository.findAll();
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setUser(user);
+            subscription.setMembershipPlan(membership);
+            subscription.setPlan(plans.get(i % plans.size()));
+            subscription.setStartDate(LocalDate.now().minusMonths(i));
+            subscription.setEndDate(LocalDate.now().plusMonths(1));
+            subscriptionRepository.save(subscription);
+        }
+    }
+
+    @Test
+    void userSubscriptionsStayWithinBudget() throws Exception {
+        try (RequestDbStats stats = QueryBudget.record()) {
+            mockMvc.perform(get("/api/subscriptions/user/{userId}", userId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(SUBSCRIPTIONS))
+                    .andExpect(QueryBudget.atMost(2));
+            QueryBudget.assertAtMost(2, stats);
+        }
+    }
+
+    @Test
+    void catalogReadsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/plans").param("difficulty", "Beginner"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+        mockMvc.perform(get("/api/trainers").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(1));
+    }
+
+    @Test
+    void lazyLoadingInALoopBreaksTheBudget() {
+        long plans = Math.min(SUBSCRIPTIONS, planRepository.count());
+        try (RequestDbStats stats = QueryBudget.record()) {
+            // One select for the subscriptions, then one per distinct plan: the N+1 the budget exists to catch
+            tx.executeWithoutResult(status -> subscriptionRepository.findAll()
+                    .forEach(s -> s.getPlan().getName()));
+            assertEquals(1 + plans, stats.getStatements());
+            assertEquals(stats.getStatements(), stats.getMaxTransactionStatements());
+            assertThrows(AssertionError.class, () -> QueryBudget.assertAtMost(2, stats));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.DEAproject.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the scenario in src/test/resources/loadtest/scenario.json against the
+ * whole application (Tomcat, security, JPA) on an embedded H2 database, then
+ * prints p50/p99/p99.9 and throughput per endpoint, writes
+ * target/loadtest-report.json and fails on any threshold breach.
+ * Run with: mvn verify -Pload-test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"h2", "loadtest"})
+class ApplicationLoadIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoadTestDataSeeder seeded;
+
+    private final Random random = new Random(11);
+
+    @Test
+    void mixedTrafficStaysWithinThresholds() throws Exception {
+        Scenario scenario = Scenario.load();
+        String baseUrl = "http://localhost:" + port;
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, baseUrl, adminCookie(client, baseUrl), this::fill);
+        if (scenario.warmupSeconds() > 0) {
+            generator.run(scenario.endpoints(), Duration.ofSeconds(scenario.warmupSeconds()), scenario.maxInFlight());
+        }
+        Map<String, LatencyRecorder> results =
+                generator.run(scenario.endpoints(), Duration.ofSeconds(scenario.durationSeconds()), scenario.maxInFlight());
+
+        List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        for (Scenario.Endpoint endpoint : scenario.endpoints()) {
+            LatencyRecorder.Summary summary = results.get(endpoint.name())
+                    .summarize(endpoint.name(), scenario.durationSeconds(), endpoint.ratePerSecond());
+            summaries.add(summary);
+            if (summary.p99Ms() > endpoint.p99Ms()) {
+                violations.add(String.format("%s: p99 %.1f ms > %.1f ms", endpoint.name(), summary.p99Ms(), endpoint.p99Ms()));
+            }
+            if (summary.errorRate() > endpoint.maxErrorRate()) {
+                violations.add(String.format("%s: error rate %.2f%% > %.2f%%", endpoint.name(),
+                        summary.errorRate() * 100, endpoint.maxErrorRate() * 100));
+            }
+        }
+        report(summaries);
+        assertTrue(violations.isEmpty(), "Load-test thresholds exceeded:\n" + String.join("\n", violations));
+    }
+
+    private void report(List<LatencyRecorder.Summary> summaries) throws Exception {
+        StringBuilder table = new StringBuilder(String.format("%n%-28s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "target/s", "actual/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (LatencyRecorder.Summary s : summaries) {
+            table.append(String.format("%-28s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", s.endpoint(), s.requests(),
+                    s.errors(), s.targetRate(), s.throughput(), s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs()));
+        }
+        System.out.println(table);
+
+        Path file = Path.of("target", "loadtest-report.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summaries);
+    }
+
+    // Admin traffic rides on one session, like an open admin dashboard
+    private String adminCookie(HttpClient client, String baseUrl) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return response.headers().allValues("Set-Cookie").stream()
+                .map(cookie -> cookie.split(";", 2)[0])
+                .reduce((a, b) -> a + "; " + b)
+                .orElseThrow(() -> new IllegalStateException("Admin login returned no session cookie"));
+    }
+
+    private String fill(String template) {
+        if (template.indexOf('{') < 0) return template;
+        int user = random.nextInt(seeded.getUserIds().size());
+        String username = seeded.getUsernames().get(user);
+        return template
+                .replace("{userId}", seeded.getUserIds().get(user).toString())
+                .replace("{username}", username)
+                .replace("{password}", LoadTestDataSeeder.PASSWORD)
+                .replace("{planId}", seeded.getPlanIds().get(random.nextInt(seeded.getPlanIds().size())).toString())
+                .replace("{membershipId}", seeded.getMembershipIds().get(random.nextInt(seeded.getMembershipIds().size())).toString())
+                .replace("{userPrefix}", username.substring(0, 8))
+                .replace("{trainerQuery}", LoadTestDataSeeder.SPECIALIZATIONS
+                        .get(random.nextInt(LoadTestDataSeeder.SPECIALIZATIONS.size())).substring(0, 4).toLowerCase());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.DEAproject.loadtest;
+
+import java.util.Arrays;
+
+// Every sample is kept (a run is tens of thousands), so percentiles are exact
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void success(long latencyNanos) {
+        if (count == nanos.length) nanos = Arrays.copyOf(nanos, count * 2);
+        nanos[count++] = latencyNanos;
+    }
+
+    synchronized void error() {
+        errors++;
+    }
+
+    synchronized Summary summarize(String name, double seconds, double targetRate) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        int total = count + errors;
+        return new Summary(name, total, errors, targetRate, count / seconds,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.99), percentileMs(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    private static double percentileMs(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    record Summary(String endpoint, int requests, int errors, double targetRate, double throughput,
+                   double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.DEAproject.loadtest;
+
+import com.example.DEAproject.model.MembershipPlan;
+import com.example.DEAproject.model.Plan;
+import com.example.DEAproject.model.Role;
+import com.example.DEAproject.model.Subscription;
+import com.example.DEAproject.model.Trainer;
+import com.example.DEAproject.model.User;
+import com.example.DEAproject.repository.RoleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a gym-sized dataset for the load test. Runs before the other
+ * ApplicationReadyEvent listeners, so the search index, membership index and
+ * availability filters are built from the seeded rows as they would be in production.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder {
+
+    static final String PASSWORD = "loadtest-pass";
+    static final List<String> SPECIALIZATIONS = List.of("Strength", "Cardio", "Yoga", "CrossFit", "Pilates", "Boxing", "Mobility");
+    private static final List<String> DIFFICULTIES = List.of("Beginner", "Intermediate", "Advanced");
+    private static final int FLUSH_EVERY = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate tx;
+    private final int users;
+    private final int trainers;
+    private final int plans;
+    private final int subscriptions;
+    private final Random random = new Random(42);
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<String> usernames = new ArrayList<>();
+    private final List<Long> planIds = new ArrayList<>();
+    private final List<Long> membershipIds = new ArrayList<>();
+
+    public LoadTestDataSeeder(RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${loadtest.seed.users:2000}") int users,
+                              @Value("${loadtest.seed.trainers:40}") int trainers,
+                              @Value("${loadtest.seed.plans:150}") int plans,
+                              @Value("${loadtest.seed.subscriptions:6000}") int subscriptions) {
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.users = users;
+        this.trainers = trainers;
+        this.plans = plans;
+        this.subscriptions = subscriptions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void seed() {
+        tx.executeWithoutResult(status -> {
+            seedUsers();
+            List<Long> trainerIds = seedTrainers();
+            seedPlans(trainerIds);
+            seedMemberships();
+            seedSubscriptions();
+        });
+    }
+
+    private void seedUsers() {
+        // Every seeded user shares one hash, so seeding costs a single BCrypt round
+        String hash = passwordEncoder.encode(PASSWORD);
+        Role role = roleRepository.findByName("USER").orElseThrow();
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setUsername(String.format("member%05d", i));
+            user.setEmail(String.format("member%05d@example.com", i));
+            user.setPassword(hash);
+            user.setPhone(String.format("07%08d", i));
+            user.getRoles().add(role);
+            entityManager.persist(user);
+            userIds.add(user.getId());
+            usernames.add(user.getUsername());
+            flushEvery(i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Long> seedTrainers() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < trainers; i++) {
+            String specialization = SPECIALIZATIONS.get(i % SPECIALIZATIONS.size());
+            Trainer trainer = new Trainer();
+            trainer.setName("Coach " + i);
+            trainer.setSpecialization(specialization);
+            trainer.setEmail("coach" + i + "@example.com");
+            trainer.setPhone(String.format("07%08d", 90_000_000 + i));
+            trainer.setDescription(specialization + " coach focused on technique, steady progression and recovery.");
+            trainer.setExperience(1 + random.nextInt(20));
+            entityManager.persist(trainer);
+            ids.add(trainer.getId());
+        }
+        return ids;
+    }
+
+    private void seedPlans(List<Long> trainerIds) {
+        for (int i = 0; i < plans; i++) {
+            int months = 1 + random.nextInt(6);
+            Plan plan = new Plan();
+            plan.setName("Plan " + i);
+            plan.setPrice(20.0 + random.nextInt(180));
+            plan.setDurationMonths(months);
+            plan.setDuration(months * 4 + " weeks");
+            plan.setDifficulty(DIFFICULTIES.get(i % DIFFICULTIES.size()));
+            plan.setDescription("Structured programme with weekly check-ins.");
+            plan.setTrainerId(trainerIds.get(random.nextInt(trainerIds.size())));
+            entityManager.persist(plan);
+            planIds.add(plan.getId());
+        }
+    }
+
+    private void seedMemberships() {
+        int[][] tiers = {{1, 49}, {3, 129}, {6, 239}, {12, 449}};
+        String[] names = {"Monthly", "Quarterly", "Half-year", "Annual"};
+        for (int i = 0; i < tiers.length; i++) {
+            MembershipPlan membership = new MembershipPlan();
+            membership.setName(names[i]);
+            membership.setDescription(names[i] + " gym access");
+            membership.setDurationMonths(tiers[i][0]);
+            membership.setPrice((double) tiers[i][1]);
+            entityManager.persist(membership);
+            membershipIds.add(membership.getId());
+        }
+    }
+
+    private void seedSubscriptions() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < subscriptions; i++) {
+            MembershipPlan membership = entityManager.getReference(MembershipPlan.class, randomOf(membershipIds));
+            LocalDate start = today.minusDays(random.nextInt(365));
+            Subscription subscription = new Subscription();
+            subscription.setUser(entityManager.getReference(User.class, randomOf(userIds)));
+            subscription.setMembershipPlan(membership);
+            subscription.setPlan(random.nextBoolean() ? entityManager.getReference(Plan.class, randomOf(planIds)) : null);
+            subscription.setStartDate(start);
+            subscription.setEndDate(start.plusMonths(1 + random.nextInt(12)));
+            entityManager.persist(subscription);
+            flushEvery(i);
+        }
+    }
+
+    private void flushEvery(int i) {
+        if ((i + 1) % FLUSH_EVERY == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private Long randomOf(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    public List<Long> getUserIds() { return userIds; }
+    public List<String> getUsernames() { return usernames; }
+    public List<Long> getPlanIds() { return planIds; }
+    public List<Long> getMembershipIds() { return membershipIds; }
+}
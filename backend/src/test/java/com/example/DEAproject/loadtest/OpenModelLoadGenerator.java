@@ -0,0 +1,114 @@
+package com.example.DEAproject.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
+
+/**
+ * Open-model traffic: each endpoint fires on its own Poisson arrival schedule,
+ * independent of responses. Latency is measured from the scheduled send time,
+ * so a stalled server shows up as queueing delay instead of quietly lowering
+ * the request rate. Arrivals beyond maxInFlight are dropped and counted as errors.
+ */
+final class OpenModelLoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private record Arrival(long atNanos, int endpoint) {}
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String adminCookie;
+    private final UnaryOperator<String> placeholders;
+    private final Random random = new Random(7);
+
+    OpenModelLoadGenerator(HttpClient client, String baseUrl, String adminCookie, UnaryOperator<String> placeholders) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.adminCookie = adminCookie;
+        this.placeholders = placeholders;
+    }
+
+    Map<String, LatencyRecorder> run(List<Scenario.Endpoint> endpoints, Duration duration, int maxInFlight)
+            throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        endpoints.forEach(e -> recorders.put(e.name(), new LatencyRecorder()));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger outstanding = new AtomicInteger();
+        CountDownLatch drained = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        PriorityQueue<Arrival> schedule = new PriorityQueue<>((a, b) -> Long.compare(a.atNanos(), b.atNanos()));
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (endpoints.get(i).ratePerSecond() > 0) {
+                schedule.add(new Arrival(start + nextGap(endpoints.get(i)), i));
+            }
+        }
+
+        outstanding.incrementAndGet(); // held by the scheduler until it stops issuing
+        while (!schedule.isEmpty() && schedule.peek().atNanos() < end) {
+            Arrival arrival = schedule.poll();
+            Scenario.Endpoint endpoint = endpoints.get(arrival.endpoint());
+            schedule.add(new Arrival(arrival.atNanos() + nextGap(endpoint), arrival.endpoint()));
+
+            long wait = arrival.atNanos() - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            LatencyRecorder recorder = recorders.get(endpoint.name());
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                recorder.error();
+                continue;
+            }
+            outstanding.incrementAndGet();
+            long intended = arrival.atNanos();
+            client.sendAsync(request(endpoint), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long latency = System.nanoTime() - intended;
+                        if (failure == null && response.statusCode() / 100 == 2) {
+                            recorder.success(latency);
+                        } else {
+                            recorder.error();
+                        }
+                        inFlight.decrementAndGet();
+                        if (outstanding.decrementAndGet() == 0) drained.countDown();
+                    });
+        }
+        if (outstanding.decrementAndGet() == 0) drained.countDown();
+        drained.await(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        return recorders;
+    }
+
+    private long nextGap(Scenario.Endpoint endpoint) {
+        // Exponential inter-arrival times give a Poisson process at the requested rate
+        double seconds = -Math.log(1 - random.nextDouble()) / endpoint.ratePerSecond();
+        return (long) (seconds * 1e9);
+    }
+
+    private HttpRequest request(Scenario.Endpoint endpoint) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + placeholders.apply(endpoint.path())))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (endpoint.admin()) builder.header("Cookie", adminCookie);
+        if (endpoint.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(endpoint.method(), HttpRequest.BodyPublishers.ofString(placeholders.apply(endpoint.body())));
+        } else {
+            builder.method(endpoint.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+}
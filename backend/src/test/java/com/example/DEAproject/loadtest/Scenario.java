@@ -0,0 +1,41 @@
+package com.example.DEAproject.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Load-test scenario, read from JSON. Each endpoint gets its own open-model
+ * arrival rate: requests are issued on schedule whether or not earlier ones
+ * have returned. Paths and bodies may use the placeholders {userId},
+ * {username}, {password}, {planId}, {membershipId}, {userPrefix} and {trainerQuery}.
+ */
+record Scenario(int warmupSeconds, int durationSeconds, int maxInFlight, List<Endpoint> endpoints) {
+
+    /**
+     * @param admin        send with the admin session cookie
+     * @param p99Ms        fail when p99 latency exceeds this
+     * @param maxErrorRate fail when the share of non-2xx, timed out or dropped requests exceeds this
+     */
+    record Endpoint(String name, String method, String path, String body, double ratePerSecond,
+                    boolean admin, double p99Ms, double maxErrorRate) {}
+
+    static final String DEFAULT_RESOURCE = "/loadtest/scenario.json";
+
+    // -Dloadtest.scenario=path/to/file.json overrides the bundled scenario
+    static Scenario load() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        String file = System.getProperty("loadtest.scenario");
+        if (file != null && !file.isBlank()) {
+            return mapper.readValue(Files.readAllBytes(Path.of(file)), Scenario.class);
+        }
+        try (InputStream in = Scenario.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) throw new IOException("Missing " + DEFAULT_RESOURCE);
+            return mapper.readValue(in, Scenario.class);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.DEAproject.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckInTest {
+
+    @Test
+    void fullBufferRejectsOfferAndReusesSlotsAfterDrain() {
+        CheckInRingBuffer buffer = new CheckInRingBuffer(4);
+        for (long id = 1; id <= 4; id++) {
+            assertTrue(buffer.offer(id, id * 10, true, id % 2 == 0));
+        }
+        assertFalse(buffer.offer(5, 50, true, true));
+        assertEquals(4, buffer.pending());
+
+        List<Long> drained = new ArrayList<>();
+        assertEquals(2, buffer.drain((userId, millis, in, granted) -> drained.add(userId), 2));
+        assertEquals(List.of(1L, 2L), drained);
+
+        // The two freed slots take new events; the buffer is full again after that
+        assertTrue(buffer.offer(5, 50, false, true));
+        assertTrue(buffer.offer(6, 60, true, false));
+        assertFalse(buffer.offer(7, 70, true, true));
+
+        List<String> rest = new ArrayList<>();
+        assertEquals(4, buffer.drain((userId, millis, in, granted) -> rest.add(userId + ":" + millis + ":" + in + ":" + granted), 10));
+        assertEquals(List.of("3:30:true:false", "4:40:true:true", "5:50:false:true", "6:60:true:false"), rest);
+        assertEquals(0, buffer.pending());
+        assertEquals(0, buffer.drain((userId, millis, in, granted) -> {}, 10));
+    }
+
+    @Test
+    void producersAgainstOneDrainerLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        CheckInRingBuffer buffer = new CheckInRingBuffer(256); // small, so producers keep hitting a full buffer
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (p + 1) * 1_000_000L;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i, i, true, true)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        AtomicReference<String> problem = new AtomicReference<>();
+        int[] total = {0};
+        start.countDown();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (total[0] < producers * perProducer && System.currentTimeMillis() < deadline) {
+            total[0] += buffer.drain((userId, millis, in, granted) -> {
+                int p = (int) (userId / 1_000_000L) - 1;
+                long seq = userId % 1_000_000L;
+                // Each producer's events arrive once each and in the order it offered them
+                if (seq != lastSeen[p] + 1 || millis != seq) problem.compareAndSet(null, "producer " + p + " got " + seq + " after " + lastSeen[p]);
+                lastSeen[p] = seq;
+            }, 100);
+        }
+        for (Thread t : threads) t.join(5_000);
+
+        assertNull(problem.get());
+        assertEquals(producers * perProducer, total[0]);
+        assertEquals(0, buffer.pending());
+    }
+
+    @Test
+    void indexKeepsTheLatestEndDayAcrossRehashes() {
+        ActiveMembershipIndex index = new ActiveMembershipIndex(4);
+        int users = 10_000; // grows the table from 16 slots through several rehashes
+        for (long id = 1; id <= users; id++) {
+            index.extend(id, 20_000 + id);
+        }
+        index.extend(5, 100);        // earlier end date: ignored
+        index.extend(7, 50_000);     // later end date: kept
+        assertEquals(users, index.size());
+
+        for (long id = 1; id <= users; id++) {
+            long expected = id == 7 ? 50_000 : 20_000 + id;
+            assertEquals(expected, index.get(id), "user " + id);
+        }
+        assertEquals(ActiveMembershipIndex.ABSENT, index.get(users + 1));
+        assertEquals(ActiveMembershipIndex.ABSENT, index.get(0));
+        assertEquals(ActiveMembershipIndex.ABSENT, index.get(-3));
+    }
+
+    @Test
+    void lookupsStayCorrectWhileAWriterRehashes() throws Exception {
+        ActiveMembershipIndex index = new ActiveMembershipIndex(16);
+        for (long id = 1; id <= 100; id++) {
+            index.extend(id, id);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> problem = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (long id = 1; id <= 100; id++) {
+                    long value = index.get(id);
+                    if (value != id) problem.compareAndSet(null, "user " + id + " read " + value);
+                }
+            }
+        });
+        reader.start();
+        for (long id = 101; id <= 200_000; id++) {
+            index.extend(id, id);
+        }
+        done.set(true);
+        reader.join(5_000);
+
+        assertNull(problem.get());
+        assertEquals(200_000, index.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.ExpiryReminder;
+import com.example.DEAproject.dto.ReminderMail;
+import com.example.DEAproject.dto.SubscriptionExpiry;
+import com.example.DEAproject.dto.UserContact;
+import com.example.DEAproject.model.ExpiryReminderSentKey;
+import com.example.DEAproject.repository.ExpiryReminderSentRepository;
+import com.example.DEAproject.repository.SubscriptionRepository;
+import com.example.DEAproject.repository.UserRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubscriptionExpiryTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void wheelFiresEachItemOnItsDueDay() {
+        ExpiryTimingWheel<Long> wheel = new ExpiryTimingWheel<>(99);
+        long[] dues = {100, 163, 164, 200, 1000, 5000, 20000};
+        for (long due : dues) {
+            wheel.schedule(due, due);
+        }
+        wheel.schedule(50, 50L); // already overdue
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(100, fired::add);
+        assertEquals(List.of(50L, 100L), fired);
+
+        for (long day = 101; day <= 20000; day++) {
+            List<Long> today = new ArrayList<>();
+            wheel.advanceTo(day, today::add);
+            long expected = day;
+            assertEquals(contains(dues, day) ? List.of(expected) : List.of(), today, "day " + day);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void mailSenderDeliversWholeBatch() throws Exception {
+        JavaMailSenderImpl javaMail = new JavaMailSenderImpl();
+        javaMail.setHost("localhost");
+        javaMail.setPort(ServerSetupTest.SMTP.getPort());
+        MailReminderSender sender = new MailReminderSender(
+                new StaticListableBeanFactory(Map.of("mailSender", javaMail)).getBeanProvider(JavaMailSender.class),
+                "no-reply@fitnessharks.com");
+
+        sender.send(List.of(
+                new ReminderMail("a@example.com", "Expires in 7 days", "body a"),
+                new ReminderMail("b@example.com", "Expires tomorrow", "body b")));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Expires in 7 days", received[0].getSubject());
+        assertEquals("b@example.com", received[1].getAllRecipients()[0].toString());
+    }
+
+    @Test
+    void restartSkipsRemindersAlreadySentAndNeverSchedulesTwice() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        SubscriptionRepository subscriptions = mock(SubscriptionRepository.class);
+        when(subscriptions.findExpiringBetween(any(), anyLong(), any(), any())).thenReturn(List.of(
+                new SubscriptionExpiry(1L, 10L, tomorrow), new SubscriptionExpiry(2L, 11L, tomorrow)));
+        ExpiryReminderSentRepository sent = mock(ExpiryReminderSentRepository.class);
+        // The previous run mailed subscription 1's reminder for today before it stopped
+        when(sent.findSent(any())).thenReturn(List.of(new ExpiryReminderSentKey(1L, ExpiryReminder.Kind.EXPIRES_IN_1_DAY)));
+        SubscriptionExpiryScheduler scheduler = new SubscriptionExpiryScheduler(
+                subscriptions, mock(UserRepository.class), sent, batch -> {}, 63, 100);
+
+        scheduler.start();
+        assertEquals(1, scheduler.pendingCount());
+        assertEquals(2, scheduler.scheduledCount());
+
+        // Already loaded from the table; the after-commit event must not add it again
+        scheduler.onSubscriptionsCreated(new SubscriptionCreatedEvent(List.of(
+                new SubscriptionCreatedEvent.Item(2L, 11L, 1L, null, LocalDate.now(), tomorrow, 49, 0))));
+        assertEquals(2, scheduler.scheduledCount());
+    }
+
+    @Test
+    void restartCatchesUpOnRemindersMissedWhileDown() {
+        LocalDate today = LocalDate.now();
+        SubscriptionRepository subscriptions = mock(SubscriptionRepository.class);
+        when(subscriptions.findExpiringBetween(any(), anyLong(), any(), any())).thenReturn(List.of(
+                new SubscriptionExpiry(3L, 12L, today.plusDays(3)),    // 7-day reminder was due 4 days ago
+                new SubscriptionExpiry(4L, 13L, today.minusDays(2)),   // 1-day and expired reminders missed
+                new SubscriptionExpiry(5L, 14L, today.plusDays(5))));  // 7-day reminder mailed before the stop
+        ExpiryReminderSentRepository sent = mock(ExpiryReminderSentRepository.class);
+        when(sent.findSent(any())).thenReturn(List.of(new ExpiryReminderSentKey(5L, ExpiryReminder.Kind.EXPIRES_IN_7_DAYS)));
+        UserRepository users = mock(UserRepository.class);
+        when(users.findByIdIn(any())).thenReturn(List.of(contact(12L), contact(13L), contact(14L)));
+        List<String> subjects = new ArrayList<>();
+        SubscriptionExpiryScheduler scheduler = new SubscriptionExpiryScheduler(
+                subscriptions, users, sent, batch -> batch.forEach(m -> subjects.add(m.getTo() + ": " + m.getSubject())), 63, 100);
+
+        scheduler.start();
+        scheduler.dispatch();
+
+        assertEquals(List.of(
+                "u12@example.com: Your Fitness Sharks membership expires in 7 days",
+                "u13@example.com: Your Fitness Sharks membership has expired"), subjects);
+    }
+
+    private static UserContact contact(long id) {
+        return new UserContact() {
+            public Long getId() { return id; }
+            public String getUsername() { return "u" + id; }
+            public String getEmail() { return "u" + id + "@example.com"; }
+        };
+    }
+
+    private static boolean contains(long[] values, long value) {
+        for (long v : values) {
+            if (v == value) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.DEAproject.service;
+
+import com.example.DEAproject.dto.UserContact;
+import com.example.DEAproject.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserAvailabilityTest {
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndKeepsItsRate() {
+        int n = 100_000;
+        double rate = 0.01;
+        BloomFilter filter = new BloomFilter(n, rate);
+        for (int i = 0; i < n; i++) {
+            filter.put("user" + i);
+        }
+        for (int i = 0; i < n; i++) {
+            assertTrue(filter.mightContain("user" + i), "user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < n; i++) {
+            if (filter.mightContain("other" + i)) falsePositives++;
+        }
+        double measured = (double) falsePositives / n;
+        assertTrue(measured > rate / 2 && measured < rate * 1.5, "measured false positive rate " + measured);
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void recordedNamesAreTakenInAnyCaseOrSpacing() {
+        UserRepository users = mock(UserRepository.class);
+        when(users.streamContacts()).thenReturn(Stream.of(contact(1, "Alice", "Alice@Example.com")));
+        UserAvailabilityService availability = service(users);
+        availability.load();
+        availability.record("Bob", "bob@example.com");
+        when(users.existsByUsername(anyString())).thenReturn(true);
+        when(users.existsByEmail(anyString())).thenReturn(true);
+
+        // A possible hit is confirmed in the DB; a false negative would skip that and report the name free
+        for (String name : List.of("Alice", "alice", "  ALICE ", "Bob", "bob ", "BOB")) {
+            assertFalse(availability.isUsernameAvailable(name), name);
+        }
+        for (String email : List.of("alice@example.com", " ALICE@EXAMPLE.COM", "Bob@Example.com ")) {
+            assertFalse(availability.isEmailAvailable(email), email);
+        }
+        verify(users).existsByUsername("alice");
+        verify(users).existsByEmail("Bob@Example.com");
+
+        // A miss is answered without a query
+        assertTrue(availability.isUsernameAvailable("carol"));
+        verify(users, never()).existsByUsername("carol");
+    }
+
+    @Test
+    void userRecordedDuringRebuildIsTakenAfterTheSwap() {
+        UserRepository users = mock(UserRepository.class);
+        UserAvailabilityService availability = service(users);
+        when(users.streamContacts()).thenReturn(Stream.of(contact(1, "alice", "alice@example.com")));
+        availability.load();
+
+        // Carol commits while the rebuild scan runs, after its snapshot was taken
+        when(users.streamContacts()).thenAnswer(invocation -> {
+            availability.record("Carol", "carol@example.com");
+            return Stream.of(contact(1, "alice", "alice@example.com"));
+        });
+        availability.load();
+
+        when(users.existsByUsername("Carol")).thenReturn(true);
+        when(users.existsByEmail("carol@example.com")).thenReturn(true);
+        assertFalse(availability.isUsernameAvailable("Carol"));
+        assertFalse(availability.isEmailAvailable("carol@example.com"));
+    }
+
+    private static UserAvailabilityService service(UserRepository users) {
+        when(users.count()).thenReturn(1L);
+        // Large capacity keeps false positives out of the "never queried" assertions
+        return new UserAvailabilityService(users, mock(PlatformTransactionManager.class), 100_000, 0.0001);
+    }
+
+    private static UserContact contact(long id, String username, String email) {
+        return new UserContact() {
+            public Long getId() { return id; }
+            public String getUsername() { return username; }
+            public String getEmail() { return email; }
+        };
+    }
+}